@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import pinorobotics.drac.Joints;
+import pinorobotics.drac.impl.CommandEncoder;
+
+public class CommandEncoderTest {
+
+    private static String format(double value) {
+        var buf = new StringBuilder();
+        CommandEncoder.appendDouble(buf, value);
+        return buf.toString();
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            doubles = {
+                0,
+                -0.0,
+                1,
+                -1,
+                0.5,
+                180,
+                -142,
+                91.9125,
+                0.225,
+                36.526052,
+                301.938713,
+                0.0000005,
+                0.0000015,
+                1.0000005,
+                -0.0000001,
+                0.1234565,
+                999999.9999995,
+                1e6,
+                -1e6,
+                1e300,
+                Double.MIN_VALUE,
+                Double.MAX_VALUE,
+                Double.NaN,
+                Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY
+            })
+    public void test_appendDouble(double value) {
+        Assertions.assertEquals(String.format(Locale.ROOT, "%f", value), format(value));
+    }
+
+    @Test
+    public void test_appendDouble_random() {
+        var random = new Random(42);
+        DoubleStream.concat(
+                        random.doubles(100_000, -1000, 1000), random.doubles(100_000, -1e7, 1e7))
+                .forEach(
+                        value ->
+                                Assertions.assertEquals(
+                                        String.format(Locale.ROOT, "%f", value), format(value)));
+        // values which are close to the rounding boundary
+        for (int i = 0; i < 100_000; i++) {
+            var value = (random.nextInt(2_000_000_000) - 1_000_000_000 + 0.5) / 1e6;
+            Assertions.assertEquals(String.format(Locale.ROOT, "%f", value), format(value));
+        }
+    }
+
+    @Test
+    public void test_commands() {
+        var encoder = CommandEncoder.get();
+        var joints = Joints.of(new double[] {180, 180, -142, 135, 0.225, 0, 0, 0});
+        Assertions.assertEquals("{\"cmd\":\"version\"}", encoder.version().toString());
+        Assertions.assertEquals(
+                """
+{"cmd":"joint","id":3,"j0":180.000000,"j1":180.000000,"j2":-142.000000,"j3":135.000000,"j4":0.225000,"j5":0.000000,"j6":0.000000,"j7":0.000000}""",
+                encoder.joint(3, joints).toString());
+        Assertions.assertEquals(
+                """
+{"cmd":"jmove","id":5,"j0":180.000000,"j1":180.000000,"j2":-142.000000,"j3":135.000000,"j4":0.225000,"j5":0.000000,"j6":0.000000,"j7":0.000000,"rel":0,"vel":50.000000,"accel":800.000000,"jerk":1000.000000,"cont":1}""",
+                encoder.jmove(5, joints, false, true, 50, 800, 1000).toString());
+        Assertions.assertEquals(
+                """
+{"cmd":"jmove","j0":180.000000,"j1":180.000000,"j2":-142.000000,"j3":135.000000,"j4":0.225000,"j5":0.000000,"j6":0.000000,"j7":0.000000,"rel":1,"vel":50.000000,"accel":800.000000,"jerk":1000.000000,"cont":0}""",
+                encoder.jmove(-1, joints, true, false, 50, 800, 1000).toString());
+        Assertions.assertEquals(
+                "{\"cmd\":\"motor\",\"id\":7,\"motor\":1}", encoder.motor(7, 1).toString());
+        Assertions.assertSame(encoder, CommandEncoder.get());
+    }
+}
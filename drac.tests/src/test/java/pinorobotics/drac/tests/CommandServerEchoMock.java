@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import id.xfunction.concurrent.NamedThreadFactory;
+import java.io.IOException;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Command Server mock which completes every command with an id as soon as it receives it.
+ *
+ * <p>Completion statuses are delivered from a single thread and only when listener requested them,
+ * same as it is done by the JDK WebSocket.
+ *
+ * <p>Unlike {@link CommandServerWebSocketMock} it does not expect commands in any particular order
+ * so it can be used when commands are sent by multiple threads.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class CommandServerEchoMock implements WebSocket {
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\":(\\d+)");
+
+    private final Listener listener;
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(
+                    new NamedThreadFactory(CommandServerEchoMock.class.getSimpleName()));
+    private final AtomicBoolean isSending = new AtomicBoolean();
+    private final AtomicInteger overlappingSendCount = new AtomicInteger();
+    private final Set<Integer> receivedIds = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger duplicateIdCount = new AtomicInteger();
+    private final Queue<String> responses = new ConcurrentLinkedQueue<>();
+    private final AtomicLong requested = new AtomicLong();
+    private volatile boolean isResponding = true;
+    private final AtomicBoolean isFailingNextSend = new AtomicBoolean();
+
+    public CommandServerEchoMock(Listener listener) {
+        this.listener = listener;
+        executor.execute(() -> listener.onOpen(this));
+    }
+
+    @Override
+    public CompletableFuture<WebSocket> sendText(CharSequence data, boolean last) {
+        if (!isSending.compareAndSet(false, true)) overlappingSendCount.incrementAndGet();
+        try {
+            if (isFailingNextSend.compareAndSet(true, false))
+                return CompletableFuture.failedFuture(new IOException("Broken pipe"));
+            var matcher = ID_PATTERN.matcher(data);
+            if (matcher.find()) {
+                var id = Integer.parseInt(matcher.group(1));
+                if (!receivedIds.add(id)) duplicateIdCount.incrementAndGet();
+                if (!isResponding) return CompletableFuture.completedFuture(this);
+                responses.add("{ \"id\" : " + id + ", \"stat\" : 2}");
+                executor.execute(this::deliver);
+            }
+            return CompletableFuture.completedFuture(this);
+        } finally {
+            isSending.set(false);
+        }
+    }
+
+    /** Same as WebSocket, responses are delivered only while there is demand for them */
+    private void deliver() {
+        while (requested.get() > 0) {
+            var response = responses.poll();
+            if (response == null) return;
+            requested.decrementAndGet();
+            listener.onText(this, response, true);
+        }
+    }
+
+    /** Commands are still received but never completed */
+    public void setResponding(boolean isResponding) {
+        this.isResponding = isResponding;
+    }
+
+    /**
+     * Fail next send as if connection was lost while sending, the command is not received and
+     * listener is not notified
+     */
+    public void failNextSend() {
+        isFailingNextSend.set(true);
+    }
+
+    /** Send motion message where all joints except j0 are 0 */
+    public void sendMotion(double j0) {
+        responses.add(
+                "{ \"j0\" : "
+                        + j0
+                        + ", \"j1\" : 0, \"j2\" : 0, \"j3\" : 0, \"j4\" : 0, \"j5\" : 0,"
+                        + " \"j6\" : 0, \"j7\" : 0, \"x\":0, \"y\":0, \"z\":0, \"a\":0,"
+                        + " \"b\":0, \"c\":0, \"d\":0, \"e\":0, \"vel\":0, \"accel\":0,"
+                        + " \"cmd\" : \"motion\" }");
+        executor.execute(this::deliver);
+    }
+
+    /** Simulate connection failure */
+    public void drop() {
+        executor.execute(() -> listener.onError(this, new IOException("Connection reset")));
+    }
+
+    /** Number of times when new send was started before the previous one was completed */
+    public int getOverlappingSendCount() {
+        return overlappingSendCount.get();
+    }
+
+    public int getDuplicateIdCount() {
+        return duplicateIdCount.get();
+    }
+
+    public int getReceivedIdCount() {
+        return receivedIds.size();
+    }
+
+    @Override
+    public CompletableFuture<WebSocket> sendBinary(ByteBuffer data, boolean last) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletableFuture<WebSocket> sendPing(ByteBuffer message) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletableFuture<WebSocket> sendPong(ByteBuffer message) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletableFuture<WebSocket> sendClose(int statusCode, String reason) {
+        executor.close();
+        return CompletableFuture.completedFuture(this);
+    }
+
+    @Override
+    public void request(long n) {
+        requested.addAndGet(n);
+        executor.execute(this::deliver);
+    }
+
+    @Override
+    public String getSubprotocol() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isOutputClosed() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isInputClosed() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void abort() {
+        executor.close();
+    }
+}
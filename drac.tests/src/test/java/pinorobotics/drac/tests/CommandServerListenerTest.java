@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.impl.CommandServerListener;
+import pinorobotics.drac.impl.MessageProcessor;
+
+public class CommandServerListenerTest {
+
+    @Test
+    public void test_demand() {
+        var webSocket = new WebSocketStub();
+        var listener = new CommandServerListener(new MessageProcessor(0), 4);
+        listener.onOpen(webSocket);
+        Assertions.assertEquals(4, webSocket.requested);
+        listener.onText(webSocket, "{ \"id\" : 1, \"stat\" : 2}", true);
+        Assertions.assertEquals(4, webSocket.requested);
+        // half of the window is received
+        listener.onText(webSocket, "{ \"id\" : 2, \"stat\" : 2}", true);
+        Assertions.assertEquals(6, webSocket.requested);
+        // fragments of one message consume demand too
+        listener.onText(webSocket, "{ \"id\" : 3,", false);
+        listener.onText(webSocket, " \"stat\" : 2}", true);
+        Assertions.assertEquals(8, webSocket.requested);
+    }
+}
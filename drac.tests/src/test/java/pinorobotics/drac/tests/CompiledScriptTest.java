@@ -0,0 +1,129 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.CompiledScript;
+import pinorobotics.drac.DornaRobotModel;
+import pinorobotics.drac.exceptions.DornaClientException;
+import pinorobotics.drac.impl.ScriptCache;
+
+public class CompiledScriptTest {
+
+    private static final List<String> SCRIPT =
+            """
+{"cmd":"jmove","rel":0,"j0":180,"j1":180,"id":12,"j2":-142,"j3":135,"j4":0}
+
+{"cmd":"jmove","rel":1,"j0":-300}
+{"cmd":"motor","motor":1}"""
+                    .lines()
+                    .toList();
+
+    @Test
+    public void test_compile() {
+        var script = CompiledScript.compile(SCRIPT, DornaRobotModel.DORNA2_BLACK);
+        Assertions.assertEquals(3, script.size());
+        Assertions.assertEquals(
+                """
+                {"cmd":"jmove","rel":0,"j0":180,"j1":180,"id":5,"j2":-142,"j3":135,"j4":0}""",
+                script.command(0, 5));
+        Assertions.assertEquals(
+                """
+                {"id":6,"cmd":"jmove","rel":1,"j0":-300}""",
+                script.command(1, 6));
+        var buf = new StringBuilder();
+        script.appendCommand(2, 7, buf);
+        Assertions.assertEquals("{\"id\":7,\"cmd\":\"motor\",\"motor\":1}", buf.toString());
+    }
+
+    @Test
+    public void test_segments() {
+        var script =
+                CompiledScript.compile(
+                        List.of(
+                                "{\"cmd\":\"sync\"}",
+                                "{\"cmd\":\"jmove\",\"rel\":1,\"j0\":1}",
+                                "{\"cmd\":\"sync\"}",
+                                "{\"cmd\":\"jmove\",\"rel\":1,\"j0\":2}",
+                                "{\"cmd\":\"motor\",\"motor\":1}"),
+                        DornaRobotModel.DORNA2_BLACK);
+        // sync markers are not commands
+        Assertions.assertEquals(3, script.size());
+        Assertions.assertEquals(3, script.segmentCount());
+        Assertions.assertEquals(0, script.segment(0).size());
+        Assertions.assertEquals(1, script.segment(1).size());
+        Assertions.assertEquals(
+                "{\"id\":5,\"cmd\":\"jmove\",\"rel\":1,\"j0\":1}", script.segment(1).command(0, 5));
+        var last = script.segment(2);
+        Assertions.assertEquals(2, last.size());
+        Assertions.assertEquals(1, last.segmentCount());
+        Assertions.assertEquals("motor", last.commandType(1));
+
+        Assertions.assertEquals(
+                1, CompiledScript.compile(SCRIPT, DornaRobotModel.DORNA2_BLACK).segmentCount());
+    }
+
+    @Test
+    public void test_compile_invalid() {
+        var ex =
+                Assertions.assertThrows(
+                        DornaClientException.class,
+                        () ->
+                                CompiledScript.compile(
+                                        List.of(
+                                                "{\"cmd\":\"motor\",\"motor\":1}",
+                                                "{\"cmd\":\"jmove\",\"j2\":-143}"),
+                                        DornaRobotModel.DORNA2_BLACK));
+        Assertions.assertEquals(
+                "Line 2: Joint 2 is out of limits: actual -143.000000, limit [-142.000000,"
+                        + " 142.000000]",
+                ex.getMessage());
+        ex =
+                Assertions.assertThrows(
+                        DornaClientException.class,
+                        () ->
+                                CompiledScript.compile(
+                                        List.of("{\"cmd\":"), DornaRobotModel.DORNA2_BLACK));
+        Assertions.assertEquals("Line 1 is not valid JSON", ex.getMessage());
+    }
+
+    @Test
+    public void test_cache() throws IOException {
+        var cache = new ScriptCache(DornaRobotModel.DORNA2_BLACK, 1);
+        var script = cache.get(SCRIPT);
+        Assertions.assertSame(script, cache.get(List.copyOf(SCRIPT)));
+
+        var file = Files.createTempFile("drac", null);
+        Files.write(file, SCRIPT);
+        var fileScript = cache.get(file);
+        Assertions.assertSame(fileScript, cache.get(file));
+        // capacity is 1 so script was evicted
+        Assertions.assertNotSame(script, cache.get(SCRIPT));
+
+        Files.write(file, SCRIPT.subList(0, 1));
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+        Assertions.assertEquals(1, cache.get(file).size());
+        Files.delete(file);
+    }
+}
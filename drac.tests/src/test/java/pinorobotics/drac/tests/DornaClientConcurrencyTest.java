@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import id.xfunction.lang.XThread;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.DornaClientConfig;
+import pinorobotics.drac.DornaRobotModel;
+import pinorobotics.drac.impl.CommandServerListener;
+import pinorobotics.drac.impl.DornaClientImpl;
+import pinorobotics.drac.impl.DracSocket;
+import pinorobotics.drac.impl.DracSocketFactory;
+import pinorobotics.drac.impl.MessageProcessor;
+
+/**
+ * Stress test for the client which is used by multiple threads at the same time.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class DornaClientConcurrencyTest {
+    private static final int THREAD_COUNT = 8;
+    private static final int COMMANDS_PER_THREAD = 5_000;
+
+    /** Number of commands which each thread keeps pending */
+    private static final int BATCH_SIZE = 100;
+
+    @Test
+    public void test_concurrent_jmove() throws Exception {
+        var server = new CommandServerEchoMock[1];
+        var messageProc = new MessageProcessor[1];
+        var factory =
+                new DracSocketFactory() {
+                    @Override
+                    public DracSocket create(
+                            URI dornaUrl, MessageProcessor proc, Optional<Path> outputLog) {
+                        messageProc[0] = proc;
+                        server[0] = new CommandServerEchoMock(new CommandServerListener(proc));
+                        return new DracSocket(server[0], outputLog);
+                    }
+                };
+        var config =
+                new DornaClientConfig.Builder(
+                                URI.create("ws://dorna"), DornaRobotModel.DORNA2_BLACK)
+                        .build();
+        var home = DornaRobotModel.DORNA2_BLACK.home();
+        try (var client = new DornaClientImpl(config, factory);
+                var executor = Executors.newFixedThreadPool(THREAD_COUNT)) {
+            var results = new ArrayList<Future<?>>();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                results.add(
+                        executor.submit(
+                                () -> {
+                                    var batch = new ArrayList<CompletableFuture<Void>>();
+                                    for (int j = 0; j < COMMANDS_PER_THREAD; j++) {
+                                        batch.add(client.jmoveAsync(home, false));
+                                        if (batch.size() == BATCH_SIZE) {
+                                            batch.forEach(CompletableFuture::join);
+                                            batch.clear();
+                                        }
+                                    }
+                                    batch.forEach(CompletableFuture::join);
+                                }));
+            }
+            for (var result : results) result.get();
+            Assertions.assertEquals(0, server[0].getOverlappingSendCount());
+            Assertions.assertEquals(0, server[0].getDuplicateIdCount());
+            Assertions.assertEquals(
+                    THREAD_COUNT * COMMANDS_PER_THREAD, server[0].getReceivedIdCount());
+            // commands are removed from pending after their futures are completed
+            var pendingCommands = messageProc[0].getPendingCommands();
+            for (int i = 0; i < 100 && pendingCommands.size() > 0; i++) XThread.sleep(10);
+            Assertions.assertEquals(0, pendingCommands.size());
+        }
+    }
+}
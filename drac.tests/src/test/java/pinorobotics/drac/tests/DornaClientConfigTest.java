@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import java.net.URI;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.DornaClientConfig;
+import pinorobotics.drac.DornaRobotModel;
+
+public class DornaClientConfigTest {
+
+    @Test
+    public void test_compatibility_constructor() {
+        var url = URI.create("ws://dorna");
+        var model = DornaRobotModel.DORNA2_BLACK;
+        Assertions.assertEquals(
+                new DornaClientConfig.Builder(url, model).build(),
+                new DornaClientConfig(
+                        url,
+                        model,
+                        Optional.empty(),
+                        true,
+                        DornaClientConfig.Builder.DEFAULT_VELOCITY,
+                        DornaClientConfig.Builder.DEFAULT_ACCEL,
+                        DornaClientConfig.Builder.DEFAULT_JERK,
+                        false));
+    }
+}
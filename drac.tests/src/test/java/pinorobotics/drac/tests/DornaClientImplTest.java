@@ -25,21 +25,30 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import pinorobotics.drac.CommandType;
 import pinorobotics.drac.DornaClient;
 import pinorobotics.drac.DornaClientConfig;
 import pinorobotics.drac.DornaRobotModel;
 import pinorobotics.drac.Joints;
+import pinorobotics.drac.exceptions.CommandTimeoutException;
 import pinorobotics.drac.exceptions.DornaClientException;
 import pinorobotics.drac.impl.CommandServerListener;
 import pinorobotics.drac.impl.DornaClientImpl;
 import pinorobotics.drac.impl.DracSocket;
 import pinorobotics.drac.impl.DracSocketFactory;
 import pinorobotics.drac.impl.MessageProcessor;
+import pinorobotics.drac.messages.MotionSnapshot;
 
 /**
  * @author lambdaprime intid@protonmail.com
@@ -56,6 +65,22 @@ public class DornaClientImplTest {
                             + " y=-0.0, z=301.938713, a=178.0, b=0.0, c=0.0, d=0.0, e=0.0, vel=0.0,"
                             + " accel=0.0]",
                     client.getLastMotion().toString());
+            var snapshot = new MotionSnapshot();
+            client.getLastMotion(snapshot);
+            Assertions.assertEquals(client.getLastMotion(), snapshot.toMotion());
+            Assertions.assertEquals(140.0, snapshot.joint(3));
+            Assertions.assertEquals(301.938713, snapshot.z());
+        }
+    }
+
+    @Test
+    public void test_awaitMotion() {
+        try (var client = createClient("recording_motion")) {
+            var motion = client.awaitMotion(m -> m.joints().j3() == 140, Duration.ofMinutes(1));
+            Assertions.assertEquals(301.938713, motion.z());
+            Assertions.assertThrows(
+                    DornaClientException.class,
+                    () -> client.awaitMotion(m -> m.joints().j3() == 0, Duration.ofMillis(10)));
         }
     }
 
@@ -153,11 +178,156 @@ public class DornaClientImplTest {
         }
     }
 
+    @Test
+    public void test_play_window() {
+        try (var client = createClient("recording_play_window", config -> config.playWindow(2))) {
+            client.play(
+                    """
+{"cmd":"jmove","rel":0,"j0":180,"j1":180,"j2":-142,"j3":135,"j4":0}
+{"cmd":"jmove","rel":0,"j0":180,"j1":180,"j2":-142,"j3":91.9125,"j4":0.225}
+{"cmd":"jmove","rel":0,"j0":180,"j1":180,"j2":-142,"j3":53.2125,"j4":0.27}
+""");
+        }
+    }
+
+    @Test
+    public void test_playAsync() throws Exception {
+        try (var client = createClient("recording_play_window", config -> config.playWindow(2))) {
+            var future =
+                    client.playAsync(
+                            """
+{"cmd":"jmove","rel":0,"j0":180,"j1":180,"j2":-142,"j3":135,"j4":0}
+{"cmd":"jmove","rel":0,"j0":180,"j1":180,"j2":-142,"j3":91.9125,"j4":0.225}
+{"cmd":"jmove","rel":0,"j0":180,"j1":180,"j2":-142,"j3":53.2125,"j4":0.27}
+"""
+                                    .lines()
+                                    .toList());
+            future.get();
+        }
+    }
+
+    @Test
+    public void test_versionAsync() throws Exception {
+        try (var client = createClient("recording_version")) {
+            Assertions.assertEquals(109, client.versionAsync().get());
+        }
+    }
+
+    @Test
+    public void test_play_window_failed() {
+        try (var client =
+                createClient("recording_play_window_failed", config -> config.playWindow(2))) {
+            var ex =
+                    Assertions.assertThrows(
+                            DornaClientException.class,
+                            () ->
+                                    client.play(
+                                            """
+{"cmd":"jmove","rel":0,"j0":180,"j1":180,"j2":-142,"j3":135,"j4":0}
+{"cmd":"jmove","rel":0,"j0":180,"j1":180,"j2":-142,"j3":91.9125,"j4":0.225,"vel":0}
+{"cmd":"jmove","rel":0,"j0":180,"j1":180,"j2":-142,"j3":53.2125,"j4":0.27}
+"""));
+            Assertions.assertEquals(
+                    "java.util.concurrent.ExecutionException:"
+                        + " pinorobotics.drac.exceptions.DornaClientException: Command  failed with"
+                        + " status -107=<Velocity should be positive>",
+                    ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_halt() throws Exception {
+        try (var client = createClient("recording_halt")) {
+            var jmove = client.jmoveAsync(DornaRobotModel.DORNA2_BLACK.home(), false);
+            client.halt();
+            var ex = Assertions.assertThrows(ExecutionException.class, jmove::get);
+            Assertions.assertInstanceOf(CancellationException.class, ex.getCause());
+        }
+    }
+
+    @Test
+    public void test_halt_async_motions() throws Exception {
+        var webSocket = new WebSocketStub();
+        var factory =
+                new DracSocketFactory() {
+                    @Override
+                    public DracSocket create(
+                            URI dornaUrl, MessageProcessor proc, Optional<Path> outputLog) {
+                        return new DracSocket(webSocket, outputLog);
+                    }
+                };
+        var config =
+                new DornaClientConfig.Builder(
+                                URI.create("ws://dorna"), DornaRobotModel.DORNA2_BLACK)
+                        .build();
+        try (var client = new DornaClientImpl(config, factory)) {
+            var home = DornaRobotModel.DORNA2_BLACK.home();
+            // async jmoves do not have ids and each of them waits until it is sent
+            var threads = new ArrayList<Thread>();
+            var errors = new CopyOnWriteArrayList<Throwable>();
+            for (int i = 0; i < 3; i++) {
+                threads.add(
+                        Thread.startVirtualThread(
+                                () -> {
+                                    try {
+                                        client.jmove(home, false, true, true, 25, 500, 2500);
+                                    } catch (DornaClientException e) {
+                                        errors.add(e.getCause().getCause());
+                                    }
+                                }));
+            }
+            for (var thread : threads) {
+                while (thread.getState() != Thread.State.WAITING) XThread.sleep(10);
+            }
+            Assertions.assertEquals(1, webSocket.sent.size());
+
+            var halt = client.haltAsync();
+            webSocket.complete(0);
+            webSocket.complete(1);
+
+            // queued jmoves are cancelled instead of being sent after the halt
+            Assertions.assertEquals(2, webSocket.sent.size());
+            Assertions.assertTrue(webSocket.sent.get(1).contains("\"halt\""));
+            for (var thread : threads) thread.join();
+            Assertions.assertEquals(2, errors.size());
+            errors.forEach(e -> Assertions.assertInstanceOf(CancellationException.class, e));
+            Assertions.assertFalse(halt.isDone());
+        }
+    }
+
+    @Test
+    public void test_command_timeout() {
+        try (var client =
+                createClient(
+                        "recording_command_timeout",
+                        config ->
+                                config.commandTimeout(Duration.ofMinutes(1))
+                                        .commandTimeout(
+                                                CommandType.JMOVE, Duration.ofMillis(300)))) {
+            var ex =
+                    Assertions.assertThrows(
+                            ExecutionException.class,
+                            () ->
+                                    client.jmoveAsync(DornaRobotModel.DORNA2_BLACK.home(), false)
+                                            .get());
+            Assertions.assertInstanceOf(CommandTimeoutException.class, ex.getCause());
+            Assertions.assertEquals(
+                    "Command jmove with id 1 was not completed within PT0.3S",
+                    ex.getCause().getMessage());
+        }
+    }
+
     private DornaClient createClient(String recording) {
         return createClient(recording, Optional.empty());
     }
 
     private DornaClient createClient(String recording, Optional<Path> outputLog) {
+        return createClient(
+                recording, configBuilder -> outputLog.ifPresent(configBuilder::outputLog));
+    }
+
+    private DornaClient createClient(
+            String recording, Consumer<DornaClientConfig.Builder> configurator) {
         var factory =
                 new DracSocketFactory() {
                     @Override
@@ -173,7 +343,7 @@ public class DornaClientImplTest {
         var configBuilder =
                 new DornaClientConfig.Builder(
                         URI.create("ws://dorna"), DornaRobotModel.DORNA2_BLACK);
-        outputLog.ifPresent(configBuilder::outputLog);
+        configurator.accept(configBuilder);
         return new DornaClientImpl(configBuilder.build(), factory);
     }
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.CommandType;
+import pinorobotics.drac.DornaClientConfig;
+import pinorobotics.drac.DornaRobotModel;
+import pinorobotics.drac.exceptions.CommandTimeoutException;
+import pinorobotics.drac.exceptions.DornaClientException;
+import pinorobotics.drac.impl.CommandServerListener;
+import pinorobotics.drac.impl.DornaClientImpl;
+import pinorobotics.drac.impl.DracSocket;
+import pinorobotics.drac.impl.DracSocketFactory;
+import pinorobotics.drac.impl.MessageProcessor;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class DornaClientPlayTest {
+    private static final String JMOVE = "{\"cmd\":\"jmove\",\"rel\":1,\"j0\":1}";
+    private static final String LMOVE = "{\"cmd\":\"lmove\",\"rel\":1,\"x\":1}";
+
+    private CommandServerEchoMock server;
+    private MessageProcessor messageProc;
+
+    @Test
+    public void test_play_failed() {
+        // only jmove has a timeout, other commands would stay pending forever
+        var config =
+                new DornaClientConfig.Builder(
+                                URI.create("ws://dorna"), DornaRobotModel.DORNA2_BLACK)
+                        .playWindow(3)
+                        .commandTimeout(CommandType.JMOVE, Duration.ofMillis(300))
+                        .build();
+        var factory =
+                new DracSocketFactory() {
+                    @Override
+                    public DracSocket create(
+                            URI dornaUrl, MessageProcessor proc, Optional<Path> outputLog) {
+                        messageProc = proc;
+                        server = new CommandServerEchoMock(new CommandServerListener(proc));
+                        server.setResponding(false);
+                        return new DracSocket(server, outputLog);
+                    }
+                };
+        try (var client = new DornaClientImpl(config, factory)) {
+            var script = client.compile(List.of(JMOVE, LMOVE, LMOVE, LMOVE));
+            var e = Assertions.assertThrows(DornaClientException.class, () -> client.play(script));
+            Assertions.assertInstanceOf(CommandTimeoutException.class, e.getCause().getCause());
+            // window of commands and the halt
+            Assertions.assertEquals(4, server.getReceivedIdCount());
+            // commands of the window are cancelled, only the halt is still pending
+            Assertions.assertEquals(1, messageProc.getPendingCommands().size());
+        }
+    }
+}
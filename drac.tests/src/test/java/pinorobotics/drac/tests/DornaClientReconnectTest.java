@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import id.xfunction.lang.XThread;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.ConnectionState;
+import pinorobotics.drac.DornaClientConfig;
+import pinorobotics.drac.DornaRobotModel;
+import pinorobotics.drac.exceptions.ConnectionLostException;
+import pinorobotics.drac.impl.CommandServerListener;
+import pinorobotics.drac.impl.DornaClientImpl;
+import pinorobotics.drac.impl.DracSocket;
+import pinorobotics.drac.impl.DracSocketFactory;
+import pinorobotics.drac.impl.MessageProcessor;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class DornaClientReconnectTest {
+
+    private static class EchoSocketFactory extends DracSocketFactory {
+        private final List<CommandServerEchoMock> servers = new CopyOnWriteArrayList<>();
+
+        @Override
+        public DracSocket create(URI dornaUrl, MessageProcessor proc, Optional<Path> outputLog) {
+            var server = new CommandServerEchoMock(new CommandServerListener(proc));
+            servers.add(server);
+            return new DracSocket(server, outputLog);
+        }
+    }
+
+    @Test
+    public void test_reconnect() throws Exception {
+        var factory = new EchoSocketFactory();
+        var config =
+                new DornaClientConfig.Builder(
+                                URI.create("ws://dorna"), DornaRobotModel.DORNA2_BLACK)
+                        .reconnectDelay(Duration.ofMillis(10), Duration.ofMillis(100))
+                        .build();
+        var home = DornaRobotModel.DORNA2_BLACK.home();
+        try (var client = new DornaClientImpl(config, factory)) {
+            var states = new CopyOnWriteArrayList<ConnectionState>();
+            client.addConnectionStateListener(states::add);
+            Assertions.assertEquals(ConnectionState.DISCONNECTED, client.getConnectionState());
+            client.jmove(home, false);
+            var server = factory.servers.get(0);
+            server.setResponding(false);
+            var halt = client.haltAsync();
+            var jmove = client.jmoveAsync(home, false);
+            for (int i = 0; i < 100 && server.getReceivedIdCount() < 3; i++) XThread.sleep(10);
+            Assertions.assertEquals(3, server.getReceivedIdCount());
+
+            server.drop();
+
+            // halt is resent over the new connection, motion is not
+            var e = Assertions.assertThrows(CompletionException.class, jmove::join);
+            Assertions.assertInstanceOf(ConnectionLostException.class, e.getCause());
+            halt.join();
+            Assertions.assertEquals(2, factory.servers.size());
+            Assertions.assertEquals(1, factory.servers.get(1).getReceivedIdCount());
+            Assertions.assertEquals(ConnectionState.CONNECTED, client.getConnectionState());
+            Assertions.assertEquals(
+                    List.of(
+                            ConnectionState.CONNECTING,
+                            ConnectionState.CONNECTED,
+                            ConnectionState.DISCONNECTED,
+                            ConnectionState.RECONNECTING,
+                            ConnectionState.CONNECTED),
+                    states);
+
+            client.jmove(home, false);
+            Assertions.assertEquals(2, factory.servers.get(1).getReceivedIdCount());
+        }
+    }
+
+    @Test
+    public void test_recover_command_which_failed_to_send() throws Exception {
+        var factory = new EchoSocketFactory();
+        var config =
+                new DornaClientConfig.Builder(
+                                URI.create("ws://dorna"), DornaRobotModel.DORNA2_BLACK)
+                        .reconnectDelay(Duration.ofMillis(10), Duration.ofMillis(100))
+                        .build();
+        var home = DornaRobotModel.DORNA2_BLACK.home();
+        try (var client = new DornaClientImpl(config, factory)) {
+            client.jmove(home, false);
+
+            // halt is resent over the new connection
+            factory.servers.get(0).failNextSend();
+            client.halt();
+            Assertions.assertEquals(2, factory.servers.size());
+            Assertions.assertEquals(1, factory.servers.get(0).getReceivedIdCount());
+            Assertions.assertEquals(1, factory.servers.get(1).getReceivedIdCount());
+
+            // motion is failed as lost instead of being failed with the send error
+            factory.servers.get(1).failNextSend();
+            var e =
+                    Assertions.assertThrows(
+                            CompletionException.class, client.jmoveAsync(home, false)::join);
+            Assertions.assertInstanceOf(ConnectionLostException.class, e.getCause());
+            for (int i = 0; i < 100 && factory.servers.size() < 3; i++) XThread.sleep(10);
+            Assertions.assertEquals(3, factory.servers.size());
+            Assertions.assertEquals(1, factory.servers.get(1).getReceivedIdCount());
+        }
+    }
+
+    @Test
+    public void test_reconnect_disabled() throws Exception {
+        var factory = new EchoSocketFactory();
+        var config =
+                new DornaClientConfig.Builder(
+                                URI.create("ws://dorna"), DornaRobotModel.DORNA2_BLACK)
+                        .reconnect(false)
+                        .build();
+        var home = DornaRobotModel.DORNA2_BLACK.home();
+        try (var client = new DornaClientImpl(config, factory)) {
+            client.jmove(home, false);
+            var server = factory.servers.get(0);
+            server.setResponding(false);
+            var halt = client.haltAsync();
+            for (int i = 0; i < 100 && server.getReceivedIdCount() < 2; i++) XThread.sleep(10);
+
+            server.drop();
+
+            var e = Assertions.assertThrows(CompletionException.class, halt::join);
+            Assertions.assertInstanceOf(ConnectionLostException.class, e.getCause());
+            Assertions.assertEquals(ConnectionState.DISCONNECTED, client.getConnectionState());
+
+            // commands which fail to send are not waiting for the connection to be restored
+            server.failNextSend();
+            Assertions.assertThrows(CompletionException.class, client.haltAsync()::join);
+            Assertions.assertEquals(1, factory.servers.size());
+        }
+    }
+
+    @Test
+    public void test_close_while_disconnected() throws Exception {
+        var factory = new EchoSocketFactory();
+        var config =
+                new DornaClientConfig.Builder(
+                                URI.create("ws://dorna"), DornaRobotModel.DORNA2_BLACK)
+                        .reconnectDelay(Duration.ofDays(1), Duration.ofDays(1))
+                        .build();
+        var home = DornaRobotModel.DORNA2_BLACK.home();
+        var client = new DornaClientImpl(config, factory);
+        client.jmove(home, false);
+        var server = factory.servers.get(0);
+        server.setResponding(false);
+        var halt = client.haltAsync();
+        for (int i = 0; i < 100 && server.getReceivedIdCount() < 2; i++) XThread.sleep(10);
+        server.drop();
+        for (int i = 0; i < 100 && client.getConnectionState() == ConnectionState.CONNECTED; i++)
+            XThread.sleep(10);
+        Assertions.assertEquals(ConnectionState.DISCONNECTED, client.getConnectionState());
+
+        client.close();
+
+        var e = Assertions.assertThrows(CompletionException.class, halt::join);
+        Assertions.assertInstanceOf(ConnectionLostException.class, e.getCause());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import id.xfunction.lang.XThread;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.DornaClientConfig;
+import pinorobotics.drac.DornaRobotModel;
+import pinorobotics.drac.Joints;
+import pinorobotics.drac.exceptions.CommandTimeoutException;
+import pinorobotics.drac.exceptions.DornaClientException;
+import pinorobotics.drac.impl.CommandServerListener;
+import pinorobotics.drac.impl.DornaClientImpl;
+import pinorobotics.drac.impl.DracSocket;
+import pinorobotics.drac.impl.DracSocketFactory;
+import pinorobotics.drac.impl.MessageProcessor;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class DornaClientStreamTest {
+    private static final int LOOKAHEAD = 4;
+
+    private CommandServerEchoMock server;
+
+    private DornaClientImpl createClient(boolean isResponding) {
+        var config =
+                new DornaClientConfig.Builder(
+                                URI.create("ws://dorna"), DornaRobotModel.DORNA2_BLACK)
+                        .streamLookahead(LOOKAHEAD)
+                        .commandTimeout(Duration.ofMillis(300))
+                        .build();
+        return new DornaClientImpl(
+                config,
+                new DracSocketFactory() {
+                    @Override
+                    public DracSocket create(
+                            URI dornaUrl, MessageProcessor proc, Optional<Path> outputLog) {
+                        server = new CommandServerEchoMock(new CommandServerListener(proc));
+                        server.setResponding(isResponding);
+                        return new DracSocket(server, outputLog);
+                    }
+                });
+    }
+
+    /** Trajectory which counts how many points were taken from it */
+    private static Iterator<Joints> trajectory(int size, AtomicInteger taken) {
+        return IntStream.range(0, size)
+                .mapToObj(
+                        i -> {
+                            taken.incrementAndGet();
+                            return new Joints(i % 90, 0, 0, 0, 0);
+                        })
+                .iterator();
+    }
+
+    @Test
+    public void test_stream() {
+        var taken = new AtomicInteger();
+        try (var client = createClient(true)) {
+            client.stream(trajectory(1000, taken));
+            Assertions.assertEquals(1000, taken.get());
+            Assertions.assertEquals(1000, server.getReceivedIdCount());
+            Assertions.assertEquals(0, server.getDuplicateIdCount());
+            client.stream(trajectory(0, taken));
+        }
+    }
+
+    @Test
+    public void test_stream_lookahead() {
+        var taken = new AtomicInteger();
+        try (var client = createClient(false)) {
+            var future = client.streamAsync(trajectory(100, taken));
+            XThread.sleep(50);
+            // no points are taken until queued ones are completed
+            Assertions.assertEquals(LOOKAHEAD, taken.get());
+            Assertions.assertEquals(LOOKAHEAD, server.getReceivedIdCount());
+            var e = Assertions.assertThrows(Exception.class, future::join);
+            Assertions.assertInstanceOf(CommandTimeoutException.class, e.getCause());
+            Assertions.assertEquals(LOOKAHEAD, taken.get());
+            // robot is halted once stream fails
+            Assertions.assertEquals(LOOKAHEAD + 1, server.getReceivedIdCount());
+        }
+    }
+
+    @Test
+    public void test_stream_out_of_limits() {
+        var points = new ArrayList<Joints>();
+        for (int i = 0; i < 10; i++) points.add(new Joints(i, 0, 0, 0, 0));
+        points.add(new Joints(0, 0, -143, 0, 0));
+        points.add(new Joints(0, 0, 0, 0, 0));
+        try (var client = createClient(true)) {
+            Assertions.assertThrows(
+                    DornaClientException.class, () -> client.stream(points.iterator()));
+            // points which passed the limits and the halt
+            Assertions.assertEquals(11, server.getReceivedIdCount());
+        }
+    }
+}
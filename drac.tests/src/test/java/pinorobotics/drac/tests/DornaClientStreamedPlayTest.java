@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pinorobotics.drac.DornaClientConfig;
+import pinorobotics.drac.DornaRobotModel;
+import pinorobotics.drac.exceptions.DornaClientException;
+import pinorobotics.drac.impl.CommandServerListener;
+import pinorobotics.drac.impl.DornaClientImpl;
+import pinorobotics.drac.impl.DornaClientNoop;
+import pinorobotics.drac.impl.DracSocket;
+import pinorobotics.drac.impl.DracSocketFactory;
+import pinorobotics.drac.impl.MessageProcessor;
+
+/**
+ * Tests for scripts which are played directly from the file without loading them into memory
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class DornaClientStreamedPlayTest {
+    private static final int COMMANDS = 1000;
+
+    @TempDir Path tempDir;
+
+    private CommandServerEchoMock server;
+
+    private DornaClientImpl createClient(long streamedPlayThreshold, int playWindow) {
+        var config =
+                new DornaClientConfig.Builder(
+                                URI.create("ws://dorna"), DornaRobotModel.DORNA2_BLACK)
+                        .streamedPlayThreshold(streamedPlayThreshold)
+                        .playWindow(playWindow)
+                        .build();
+        return new DornaClientImpl(
+                config,
+                new DracSocketFactory() {
+                    @Override
+                    public DracSocket create(
+                            URI dornaUrl, MessageProcessor proc, Optional<Path> outputLog) {
+                        server = new CommandServerEchoMock(new CommandServerListener(proc));
+                        return new DracSocket(server, outputLog);
+                    }
+                });
+    }
+
+    private static List<String> script(int size) {
+        var script = new ArrayList<String>();
+        for (int i = 0; i < size; i++) {
+            script.add(
+                    """
+                    {"cmd":"jmove","rel":0,"j0":%d,"j1":180}"""
+                            .formatted(i % 90));
+            // blank lines and markers are skipped
+            if (i % 100 == 0) script.add("");
+            if (i % 300 == 0) script.add("{\"cmd\":\"sync\"}");
+        }
+        return script;
+    }
+
+    @Test
+    public void test_streamed() throws IOException {
+        var file = Files.write(tempDir.resolve("script"), script(COMMANDS));
+        try (var client = createClient(0, 4)) {
+            client.play(file);
+            Assertions.assertEquals(COMMANDS, server.getReceivedIdCount());
+            Assertions.assertEquals(0, server.getDuplicateIdCount());
+        }
+    }
+
+    @Test
+    public void test_gzip() throws IOException {
+        var file = tempDir.resolve("script.gz");
+        try (var out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(String.join("\n", script(COMMANDS)).getBytes());
+        }
+        // compressed scripts are streamed regardless of their size
+        try (var client =
+                createClient(DornaClientConfig.Builder.DEFAULT_STREAMED_PLAY_THRESHOLD, 1)) {
+            client.play(file);
+            Assertions.assertEquals(COMMANDS, server.getReceivedIdCount());
+        }
+    }
+
+    @Test
+    public void test_invalid_command() throws Exception {
+        var script = script(COMMANDS);
+        script.add("{");
+        var file = Files.write(tempDir.resolve("script"), script);
+        // small scripts are compiled before play so nothing is sent
+        try (var client =
+                createClient(DornaClientConfig.Builder.DEFAULT_STREAMED_PLAY_THRESHOLD, 1)) {
+            var e = Assertions.assertThrows(DornaClientException.class, () -> client.play(file));
+            Assertions.assertEquals("Line " + script.size() + " is not valid JSON", e.getMessage());
+            Assertions.assertTrue(server == null || server.getReceivedIdCount() == 0);
+        }
+        // streamed scripts fail only when they reach the chunk with the invalid command
+        try (var client = createClient(0, 1)) {
+            var future = client.playAsync(file);
+            var e = Assertions.assertThrows(ExecutionException.class, future::get);
+            Assertions.assertEquals(
+                    "Line " + script.size() + " is not valid JSON", e.getCause().getMessage());
+            var received = server.getReceivedIdCount();
+            Assertions.assertTrue(0 < received && received < COMMANDS, "" + received);
+        }
+    }
+
+    @Test
+    public void test_default_implementation() throws IOException {
+        var file = tempDir.resolve("script.gz");
+        var played = new ArrayList<Path>();
+        var config =
+                new DornaClientConfig.Builder(
+                                URI.create("ws://dorna"), DornaRobotModel.DORNA2_BLACK)
+                        .build();
+        try (var client =
+                new DornaClientNoop(config) {
+                    @Override
+                    public CompletableFuture<Void> playAsync(Path script) {
+                        played.add(script);
+                        return CompletableFuture.failedFuture(new IOException("Not found"));
+                    }
+                }) {
+            var e = Assertions.assertThrows(DornaClientException.class, () -> client.play(file));
+            Assertions.assertInstanceOf(IOException.class, e.getCause().getCause());
+        }
+        Assertions.assertEquals(List.of(file), played);
+    }
+
+    @Test
+    public void test_empty() throws Exception {
+        var file = Files.write(tempDir.resolve("script"), List.of("", ""));
+        try (var client = createClient(0, 1)) {
+            client.play(file);
+            Assertions.assertEquals(0, server.getReceivedIdCount());
+        }
+    }
+}
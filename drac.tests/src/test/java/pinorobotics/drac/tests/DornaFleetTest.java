@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import id.xfunction.PreconditionException;
+import id.xfunction.lang.XThread;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.ConnectionState;
+import pinorobotics.drac.DornaClient;
+import pinorobotics.drac.DornaClientConfig;
+import pinorobotics.drac.DornaClientFactory;
+import pinorobotics.drac.DornaFleet;
+import pinorobotics.drac.DornaRobotModel;
+import pinorobotics.drac.exceptions.CommandTimeoutException;
+import pinorobotics.drac.exceptions.DornaFleetException;
+import pinorobotics.drac.impl.CommandServerListener;
+import pinorobotics.drac.impl.DornaClientImpl;
+import pinorobotics.drac.impl.DracSocket;
+import pinorobotics.drac.impl.DracSocketFactory;
+import pinorobotics.drac.impl.MessageProcessor;
+import pinorobotics.drac.impl.MotionSkew;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class DornaFleetTest {
+
+    /** Connects each arm to its own {@link CommandServerEchoMock} */
+    private static class EchoClientFactory extends DornaClientFactory {
+        private final Map<String, CommandServerEchoMock> servers = new ConcurrentHashMap<>();
+
+        @Override
+        public DornaClient createClient(DornaClientConfig config) {
+            var armName = config.armName().get();
+            return new DornaClientImpl(
+                    config,
+                    new DracSocketFactory() {
+                        @Override
+                        public DracSocket create(
+                                URI dornaUrl, MessageProcessor proc, Optional<Path> outputLog) {
+                            var server = new CommandServerEchoMock(new CommandServerListener(proc));
+                            servers.put(armName, server);
+                            return new DracSocket(server, outputLog);
+                        }
+                    });
+        }
+    }
+
+    private static final String JMOVE = "{\"cmd\":\"jmove\",\"rel\":1,\"j0\":1}";
+    private static final String SYNC = "{\"cmd\":\"sync\"}";
+
+    private static DornaClientConfig config(String armName) {
+        return configBuilder(armName).build();
+    }
+
+    private static DornaClientConfig.Builder configBuilder(String armName) {
+        return new DornaClientConfig.Builder(
+                        URI.create("ws://" + armName), DornaRobotModel.DORNA2_BLACK)
+                .armName(armName)
+                .commandTimeout(Duration.ofMillis(300));
+    }
+
+    @Test
+    public void test_homeAll() {
+        var factory = new EchoClientFactory();
+        try (var fleet = DornaFleet.open(factory, List.of(config("a"), config("b"), config("c")))) {
+            Assertions.assertEquals(List.of("a", "b", "c"), List.copyOf(fleet.getArmNames()));
+            Assertions.assertEquals(3, factory.servers.size());
+            fleet.getConnectionStates()
+                    .values()
+                    .forEach(state -> Assertions.assertEquals(ConnectionState.CONNECTED, state));
+
+            fleet.homeAll();
+            factory.servers
+                    .values()
+                    .forEach(server -> Assertions.assertEquals(1, server.getReceivedIdCount()));
+
+            // arm which does not respond fails the whole operation but not the other arms
+            factory.servers.get("b").setResponding(false);
+            var e = Assertions.assertThrows(DornaFleetException.class, fleet::homeAll);
+            Assertions.assertEquals(List.of("b"), List.copyOf(e.getFailures().keySet()));
+            Assertions.assertInstanceOf(CommandTimeoutException.class, e.getFailures().get("b"));
+            factory.servers
+                    .values()
+                    .forEach(server -> Assertions.assertEquals(2, server.getReceivedIdCount()));
+        }
+    }
+
+    @Test
+    public void test_playSynchronized() {
+        var factory = new EchoClientFactory();
+        try (var fleet = DornaFleet.open(factory, List.of(config("a"), config("b")))) {
+            var a = fleet.getClient("a");
+            var b = fleet.getClient("b");
+            var scripts =
+                    Map.of(
+                            "a", a.compile(List.of(JMOVE, SYNC, JMOVE, JMOVE)),
+                            "b", b.compile(List.of(JMOVE, SYNC, JMOVE)));
+            fleet.playSynchronized(scripts);
+            Assertions.assertEquals(3, factory.servers.get("a").getReceivedIdCount());
+            Assertions.assertEquals(2, factory.servers.get("b").getReceivedIdCount());
+
+            // next segment is not released until all arms complete the current one
+            factory.servers.get("b").setResponding(false);
+            var e =
+                    Assertions.assertThrows(
+                            DornaFleetException.class, () -> fleet.playSynchronized(scripts));
+            Assertions.assertEquals(List.of("b"), List.copyOf(e.getFailures().keySet()));
+            Assertions.assertEquals(4, factory.servers.get("a").getReceivedIdCount());
+            // failed arm is halted
+            Assertions.assertEquals(4, factory.servers.get("b").getReceivedIdCount());
+
+            Assertions.assertThrows(
+                    PreconditionException.class,
+                    () ->
+                            fleet.playSynchronized(
+                                    Map.of(
+                                            "a", a.compile(List.of(JMOVE)),
+                                            "b", b.compile(List.of(JMOVE, SYNC, JMOVE)))));
+        }
+    }
+
+    @Test
+    public void test_motion_skew() {
+        var factory = new EchoClientFactory();
+        // skew does not depend on the motion history
+        var configs =
+                List.of(
+                        configBuilder("a").motionHistoryCapacity(0).build(),
+                        configBuilder("b").motionHistoryCapacity(0).build());
+        try (var fleet = DornaFleet.open(factory, configs)) {
+            var a = factory.servers.get("a");
+            var b = factory.servers.get("b");
+            a.sendMotion(0);
+            b.sendMotion(0);
+            awaitJ0(fleet.getClient("a"), 0);
+            awaitJ0(fleet.getClient("b"), 0);
+            var clients = Map.of("a", fleet.getClient("a"), "b", fleet.getClient("b"));
+
+            var skew = new MotionSkew(clients);
+            // messages are processed in order so once next one is received the previous one was
+            // seen by all the waiters
+            a.sendMotion(1);
+            a.sendMotion(2);
+            awaitJ0(fleet.getClient("a"), 2);
+            XThread.sleep(50);
+            b.sendMotion(1);
+            b.sendMotion(2);
+            awaitJ0(fleet.getClient("b"), 2);
+            var measured = Duration.ofNanos(skew.stop());
+            Assertions.assertTrue(measured.toMillis() >= 50, "" + measured);
+            Assertions.assertTrue(measured.toMillis() < 1000, "" + measured);
+
+            // only one arm moved
+            skew = new MotionSkew(clients);
+            a.sendMotion(3);
+            a.sendMotion(4);
+            awaitJ0(fleet.getClient("a"), 4);
+            Assertions.assertEquals(-1, skew.stop());
+        }
+    }
+
+    private static void awaitJ0(DornaClient client, double j0) {
+        client.awaitMotion(m -> m.joints().j0() == j0, Duration.ofSeconds(5));
+    }
+
+    @Test
+    public void test_open_duplicate_arm() {
+        Assertions.assertThrows(
+                PreconditionException.class,
+                () -> DornaFleet.open(new EchoClientFactory(), List.of(config("a"), config("a"))));
+    }
+}
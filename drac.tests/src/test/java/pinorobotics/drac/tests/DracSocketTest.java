@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.exceptions.DornaClientException;
+import pinorobotics.drac.impl.DracSocket;
+
+public class DracSocketTest {
+
+    @Test
+    public void test_sendText() {
+        var webSocket = new WebSocketStub();
+        var socket = new DracSocket(webSocket, Optional.empty());
+        var buf = new StringBuilder("a");
+        var a = socket.sendText(buf);
+        // callers can reuse their buffers right away
+        buf.setLength(0);
+        var commandFuture = new CompletableFuture<Void>();
+        var b = socket.sendText(buf.append("b"), commandFuture);
+        var c = socket.sendText("c");
+        Assertions.assertEquals(List.of("a"), webSocket.sent);
+        Assertions.assertFalse(a.isDone());
+
+        webSocket.complete(0);
+        Assertions.assertTrue(a.isDone());
+        Assertions.assertEquals(List.of("a", "b"), webSocket.sent);
+
+        webSocket.fail(1);
+        var ex = Assertions.assertThrows(ExecutionException.class, commandFuture::get);
+        Assertions.assertInstanceOf(DornaClientException.class, ex.getCause());
+        Assertions.assertTrue(b.isCompletedExceptionally());
+        Assertions.assertEquals(List.of("a", "b", "c"), webSocket.sent);
+
+        webSocket.complete(2);
+        Assertions.assertTrue(c.isDone());
+        Assertions.assertEquals(1, webSocket.maxOutstanding);
+        socket.sendClose();
+    }
+
+    @Test
+    public void test_sendPriorityText() {
+        var webSocket = new WebSocketStub();
+        var socket = new DracSocket(webSocket, Optional.empty());
+        socket.sendText("a");
+        socket.sendText("b");
+        var cancelled = new CompletableFuture<Void>();
+        var c = socket.sendText("c", cancelled);
+        var halt = socket.sendPriorityText("halt", new CompletableFuture<Void>());
+        cancelled.cancel(false);
+
+        // priority command is sent right after the send which is in progress
+        webSocket.complete(0);
+        Assertions.assertEquals(List.of("a", "halt"), webSocket.sent);
+        webSocket.complete(1);
+        Assertions.assertTrue(halt.isDone());
+        webSocket.complete(2);
+        // commands which are completed before they are sent are skipped
+        Assertions.assertTrue(c.isCompletedExceptionally());
+        Assertions.assertEquals(List.of("a", "halt", "b"), webSocket.sent);
+        Assertions.assertEquals(1, webSocket.maxOutstanding);
+    }
+
+    @Test
+    public void test_sendHaltText() {
+        var webSocket = new WebSocketStub();
+        var socket = new DracSocket(webSocket, Optional.empty());
+        socket.sendMotionText("a", new CompletableFuture<Void>());
+        var b = new CompletableFuture<Void>();
+        socket.sendMotionText("b", b);
+        socket.sendText("c");
+        socket.sendHaltText("halt", new CompletableFuture<Void>());
+        var d = socket.sendMotionText("d", new CompletableFuture<Void>());
+
+        // queued motions are cancelled as soon as halt is queued
+        Assertions.assertTrue(b.isCancelled());
+        webSocket.complete(0);
+        webSocket.complete(1);
+        webSocket.complete(2);
+        webSocket.complete(3);
+        // motions which are queued after the halt are sent
+        Assertions.assertEquals(List.of("a", "halt", "c", "d"), webSocket.sent);
+        Assertions.assertTrue(d.isDone());
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.CommandType;
+import pinorobotics.drac.impl.IdGenerator;
+import pinorobotics.drac.impl.PendingCommands;
+
+public class IdGeneratorTest {
+
+    @Test
+    public void test_skip_pending() {
+        var commands = new PendingCommands(4);
+        commands.awaitCompletion(2, CommandType.JMOVE, "");
+        var generator = new IdGenerator(commands);
+        Assertions.assertEquals(1, generator.nextId());
+        Assertions.assertEquals(3, generator.nextId());
+        Assertions.assertEquals(4, generator.nextId());
+        // 6 shares the slot with pending command 2
+        Assertions.assertEquals(5, generator.nextId());
+        Assertions.assertEquals(7, generator.nextId());
+    }
+
+    @Test
+    public void test_wraparound() {
+        var generator = new IdGenerator(new PendingCommands(4), Integer.MAX_VALUE - 1);
+        Assertions.assertEquals(Integer.MAX_VALUE, generator.nextId());
+        Assertions.assertEquals(1, generator.nextId());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import pinorobotics.drac.DornaRobotModel;
+import pinorobotics.drac.Joints;
+import pinorobotics.drac.impl.JointLimits;
+import pinorobotics.drac.trajectory.JointsBatch;
+
+/**
+ * Compares time it takes to validate, convert to radians and measure segments of a long trajectory
+ * with {@link JointsBatch} and with separate {@link Joints}.
+ *
+ * <p>Enabled with -Ddrac.benchmark=true
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+@EnabledIfSystemProperty(named = "drac.benchmark", matches = "true")
+public class JointsBatchBenchmarkTest {
+    private static final int POINTS = 100_000;
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int ITERATIONS = 200;
+    private static final DornaRobotModel MODEL = DornaRobotModel.DORNA2_BLACK;
+
+    @Test
+    public void test() {
+        var trajectory = generate();
+        var batch = JointsBatch.of(trajectory);
+        var radians = new JointsBatch(POINTS);
+        var distances = new double[POINTS - 1];
+        run(
+                "Joints",
+                () -> {
+                    var sum = 0.;
+                    Joints prev = null;
+                    for (var joints : trajectory) {
+                        JointLimits.verify(MODEL, joints);
+                        sum += joints.toArrayOfRadians()[0];
+                        if (prev != null) sum += distance(prev, joints);
+                        prev = joints;
+                    }
+                    return sum;
+                });
+        run(
+                "JointsBatch",
+                () -> {
+                    batch.verifyLimits(MODEL);
+                    batch.toRadians(radians);
+                    batch.segmentDistances(distances);
+                    return radians.get(0, 0) + distances[0];
+                });
+    }
+
+    private static List<Joints> generate() {
+        var random = new Random(1);
+        var home = MODEL.home().toArray();
+        var trajectory = new ArrayList<Joints>(POINTS);
+        for (int i = 0; i < POINTS; i++) {
+            var joints = new double[JointsBatch.JOINT_COUNT];
+            // stay within the limits so that validation goes through all points
+            for (int j = 0; j < 4; j++) joints[j] = home[j] / 2 + random.nextDouble();
+            trajectory.add(Joints.of(joints));
+        }
+        return trajectory;
+    }
+
+    private static double distance(Joints a, Joints b) {
+        var x = a.toArray();
+        var y = b.toArray();
+        var sum = 0.;
+        for (int i = 0; i < x.length; i++) sum += (y[i] - x[i]) * (y[i] - x[i]);
+        return Math.sqrt(sum);
+    }
+
+    private static void run(String name, Supplier<Double> iteration) {
+        // results are accumulated so that JIT does not eliminate the work
+        var blackhole = 0.;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) blackhole += iteration.get();
+        var startAt = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) blackhole += iteration.get();
+        var duration = Duration.ofNanos(System.nanoTime() - startAt);
+        System.out.format(
+                "%s: %d points in %.2f ms per iteration (%s)%n",
+                name, POINTS, duration.toNanos() / 1e6 / ITERATIONS, blackhole);
+    }
+}
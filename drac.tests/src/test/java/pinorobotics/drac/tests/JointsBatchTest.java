@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import id.xfunction.PreconditionException;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.DornaRobotModel;
+import pinorobotics.drac.Joints;
+import pinorobotics.drac.trajectory.JointsBatch;
+
+public class JointsBatchTest {
+
+    @Test
+    public void test_layout() {
+        var batch =
+                JointsBatch.of(
+                        List.of(
+                                new Joints(1, 2, 3, 4, 5, 6, 7, 8),
+                                new Joints(10, 20, 30, 40, 50)));
+        Assertions.assertEquals(2, batch.size());
+        Assertions.assertEquals(new Joints(10, 20, 30, 40, 50), batch.get(1));
+        Assertions.assertEquals(2, batch.offset(1));
+        Assertions.assertArrayEquals(
+                new double[] {1, 10, 2, 20, 3, 30, 4, 40, 5, 50, 6, 0, 7, 0, 8, 0}, batch.values());
+        var wrapped = JointsBatch.wrap(batch.values(), 2);
+        wrapped.set(0, 7, 9);
+        Assertions.assertEquals(9, batch.get(0, 7));
+        Assertions.assertThrows(
+                PreconditionException.class, () -> JointsBatch.wrap(new double[15], 2));
+    }
+
+    @Test
+    public void test_verifyLimits() {
+        var model = DornaRobotModel.DORNA2_BLACK;
+        var batch = JointsBatch.of(List.of(model.home(), new Joints(0, 0, 0, 0, 1000)));
+        batch.verifyLimits(model);
+
+        batch.set(1, 2, 143);
+        var e =
+                Assertions.assertThrows(
+                        PreconditionException.class, () -> batch.verifyLimits(model));
+        Assertions.assertEquals(
+                "Joint 2 is out of limits: actual 143.000000, limit [-142.000000, 142.000000]",
+                e.getMessage());
+
+        batch.set(1, 2, Double.NaN);
+        Assertions.assertThrows(PreconditionException.class, () -> batch.verifyLimits(model));
+    }
+
+    @Test
+    public void test_conversion() {
+        var joints = new Joints(180, -90, 45, 1, 0, 360, 0.5, -1);
+        var batch = JointsBatch.of(List.of(joints, Joints.ZERO));
+        var radians = batch.toRadians(new JointsBatch(2));
+        var expected = joints.toArrayOfRadians();
+        for (int j = 0; j < JointsBatch.JOINT_COUNT; j++)
+            Assertions.assertEquals(expected[j], radians.get(0, j));
+        Assertions.assertEquals(joints, Joints.ofRadians(radians.get(0).toArray()));
+
+        // in place
+        radians.toDegrees(radians);
+        Assertions.assertEquals(joints, radians.get(0));
+        Assertions.assertEquals(Joints.ZERO, radians.get(1));
+    }
+
+    @Test
+    public void test_segmentDistances() {
+        var batch =
+                JointsBatch.of(
+                        List.of(
+                                Joints.ZERO,
+                                new Joints(3, 4, 0, 0, 0),
+                                new Joints(3, 4, 0, 0, 0),
+                                new Joints(3, 4, 0, 0, 0, 0, 0, -12)));
+        var out = new double[3];
+        batch.segmentDistances(out);
+        Assertions.assertArrayEquals(new double[] {5, 0, 12}, out);
+        Assertions.assertThrows(
+                PreconditionException.class, () -> batch.segmentDistances(new double[2]));
+        // nothing to compute
+        new JointsBatch(1).segmentDistances(new double[0]);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import java.util.concurrent.CancellationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.CommandType;
+import pinorobotics.drac.impl.MessageProcessor;
+import pinorobotics.drac.impl.MessageUtils;
+
+public class MessageProcessorTest {
+
+    @Test
+    public void test_await() throws Exception {
+        try (var proc = new MessageProcessor(0)) {
+            var first = proc.await(CommandType.VERSION);
+            var second = proc.await(CommandType.VERSION);
+            Assertions.assertEquals(1, proc.getAwaitedCommands().size());
+
+            // failing one caller does not affect the others
+            first.cancel(false);
+            Assertions.assertFalse(second.isDone());
+            Assertions.assertEquals(1, proc.getAwaitedCommands().size());
+
+            proc.process(
+                    MessageUtils.parse("{\"cmd\":\"version\", \"version\" : 109}").orElseThrow());
+            Assertions.assertEquals(109, second.get().get("version", Integer.class));
+            Assertions.assertThrows(CancellationException.class, first::join);
+            Assertions.assertEquals(0, proc.getAwaitedCommands().size());
+        }
+    }
+
+    @Test
+    public void test_await_evicted() {
+        try (var proc = new MessageProcessor(0)) {
+            var first = proc.await(CommandType.VERSION);
+            var second = proc.await(CommandType.VERSION);
+            first.cancel(false);
+            second.cancel(false);
+            Assertions.assertEquals(0, proc.getAwaitedCommands().size());
+
+            // new callers await the next message
+            var third = proc.await(CommandType.VERSION);
+            Assertions.assertFalse(third.isDone());
+            Assertions.assertTrue(proc.isAwaited(third));
+            Assertions.assertEquals(1, proc.getAwaitedCommands().size());
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import pinorobotics.drac.impl.MessageUtils;
+import pinorobotics.drac.impl.MotionDecoder;
+import pinorobotics.drac.impl.MotionFields;
+
+public class MotionDecoderTest {
+
+    private static final String MOTION =
+            """
+{ "j0" : 180.000000, "j1" : 180.018000, "j2" : -142.000000, "j3" : 135.011250, "j4" : -0.011250, "j5" : 0.000000, "j6" : 0.000000, "j7" : 0.000000, "x":36.223689, "y":-0.000000, "z":306.142765, "a":173.029250, "b":-0.011250, "c":0.000000, "d":0.000000, "e":0.000000, "vel":0.000000, "accel":-0.000000, "cmd" : "motion" }\
+""";
+
+    @Test
+    public void test_decode() {
+        var fields = new double[MotionFields.COUNT];
+        Assertions.assertTrue(new MotionDecoder().decode(MOTION, fields));
+        var expected = MessageUtils.parse(MOTION).get();
+        for (int i = 0; i < MotionFields.COUNT; i++) {
+            Assertions.assertEquals(
+                    expected.get(MotionFields.NAMES[i], Double.class),
+                    fields[i],
+                    MotionFields.NAMES[i]);
+        }
+    }
+
+    public static Stream<String> notMotionProvider() {
+        return Stream.of(
+                """
+                { "id" : 1, "stat" : 2.000000}""",
+                """
+                {"cmd":"version", "version" : 109, "id":12}""",
+                MOTION.replace("\"motion\"", "\"joint\""),
+                MOTION.replace("\"cmd\" : \"motion\"", "\"id\" : 1"),
+                MOTION.replace(", \"accel\":-0.000000", ""),
+                MOTION.replace("36.223689", "\"36.223689\""),
+                MOTION.replace("}", "}}"),
+                MOTION.substring(0, MOTION.length() - 5));
+    }
+
+    @ParameterizedTest
+    @MethodSource("notMotionProvider")
+    public void test_decode_not_motion(String json) {
+        Assertions.assertFalse(new MotionDecoder().decode(json, new double[MotionFields.COUNT]));
+    }
+
+    @Test
+    public void test_decode_numbers() {
+        var decoder = new MotionDecoder();
+        var fields = new double[MotionFields.COUNT];
+        for (var n : new String[] {"0.1", "-0.3", "1e3", "123456789.123456789012", "7"}) {
+            Assertions.assertTrue(decoder.decode(MOTION.replace("36.223689", n), fields));
+            Assertions.assertEquals(Double.parseDouble(n), fields[MotionFields.X]);
+        }
+    }
+}
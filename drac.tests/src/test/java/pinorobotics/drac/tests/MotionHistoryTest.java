@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.impl.MotionFields;
+import pinorobotics.drac.impl.MotionHistory;
+import pinorobotics.drac.messages.MotionSamples;
+import pinorobotics.drac.messages.MotionSnapshot;
+
+public class MotionHistoryTest {
+
+    /** Add samples received at 10, 20, ..., n*10 where joint j0 is equal to the time */
+    private MotionHistory createHistory(int capacity, int n) {
+        var history = new MotionHistory(capacity);
+        var fields = new double[MotionFields.COUNT];
+        for (int i = 1; i <= n; i++) {
+            fields[MotionFields.J0] = i * 10;
+            history.add(i * 10, fields);
+        }
+        return history;
+    }
+
+    @Test
+    public void test_getAt() {
+        var history = createHistory(10, 25);
+        var snapshot = new MotionSnapshot();
+        Assertions.assertTrue(history.getAt(250, snapshot));
+        Assertions.assertEquals(250, snapshot.joint(0));
+        Assertions.assertTrue(history.getAt(1000, snapshot));
+        Assertions.assertEquals(250, snapshot.receivedAt());
+        Assertions.assertTrue(history.getAt(209, snapshot));
+        Assertions.assertEquals(200, snapshot.joint(0));
+        // older samples were overwritten
+        Assertions.assertFalse(history.getAt(100, snapshot));
+        Assertions.assertFalse(createHistory(10, 0).getAt(100, snapshot));
+        Assertions.assertFalse(createHistory(0, 5).getAt(100, snapshot));
+    }
+
+    @Test
+    public void test_interpolate() {
+        var history = createHistory(10, 25);
+        var snapshot = new MotionSnapshot();
+        Assertions.assertTrue(history.interpolate(203, snapshot));
+        Assertions.assertEquals(203, snapshot.joint(0), 1e-9);
+        Assertions.assertTrue(history.interpolate(250, snapshot));
+        Assertions.assertEquals(250, snapshot.joint(0));
+        Assertions.assertFalse(history.interpolate(251, snapshot));
+    }
+
+    @Test
+    public void test_getRange() {
+        var history = createHistory(10, 25);
+        var samples = new MotionSamples(5);
+        Assertions.assertEquals(3, history.getRange(195, 225, samples));
+        Assertions.assertEquals(3, samples.size());
+        Assertions.assertEquals(200, samples.receivedAt(0));
+        Assertions.assertEquals(220, samples.joint(2, 0));
+        Assertions.assertEquals(5, history.getRange(0, 1000, samples));
+        Assertions.assertEquals(170, samples.receivedAt(0));
+        Assertions.assertEquals(0, history.getRange(1000, 2000, samples));
+    }
+}
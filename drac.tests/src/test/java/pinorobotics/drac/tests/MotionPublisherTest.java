@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import id.xfunction.function.Unchecked;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.Joints;
+import pinorobotics.drac.MotionSubscriptionPolicy;
+import pinorobotics.drac.exceptions.DornaClientException;
+import pinorobotics.drac.impl.MotionPublisher;
+import pinorobotics.drac.messages.Motion;
+
+public class MotionPublisherTest {
+
+    /** Subscriber which requests messages only when asked by the test */
+    private static class TestSubscriber implements Flow.Subscriber<Motion> {
+        List<Double> received = new ArrayList<>();
+        Flow.Subscription subscription;
+        Throwable error;
+        boolean isCompleted;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Motion item) {
+            received.add(item.joints().toArray()[0]);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            isCompleted = true;
+        }
+    }
+
+    private static Motion motion(double j0) {
+        return new Motion(Joints.of(new double[] {j0, 0, 0, 0, 0, 0, 0, 0}));
+    }
+
+    /** Publisher which delivers messages in the publishing thread */
+    private static MotionPublisher createPublisher() {
+        return new MotionPublisher(Runnable::run);
+    }
+
+    @Test
+    public void test_all() {
+        var publisher = createPublisher();
+        var subscriber = new TestSubscriber();
+        publisher.publisher(MotionSubscriptionPolicy.all(3)).subscribe(subscriber);
+        Assertions.assertTrue(publisher.hasSubscribers());
+        publisher.publish(motion(1));
+        publisher.publish(motion(2));
+        Assertions.assertEquals(List.of(), subscriber.received);
+        subscriber.subscription.request(5);
+        Assertions.assertEquals(List.of(1., 2.), subscriber.received);
+        publisher.publish(motion(3));
+        Assertions.assertEquals(List.of(1., 2., 3.), subscriber.received);
+        publisher.close();
+        Assertions.assertTrue(subscriber.isCompleted);
+        Assertions.assertFalse(publisher.hasSubscribers());
+    }
+
+    @Test
+    public void test_all_overflow() {
+        var publisher = createPublisher();
+        var subscriber = new TestSubscriber();
+        publisher.publisher(MotionSubscriptionPolicy.all(2)).subscribe(subscriber);
+        for (int i = 0; i < 3; i++) publisher.publish(motion(i));
+        Assertions.assertInstanceOf(DornaClientException.class, subscriber.error);
+        Assertions.assertFalse(publisher.hasSubscribers());
+    }
+
+    @Test
+    public void test_latest() {
+        var publisher = createPublisher();
+        var subscriber = new TestSubscriber();
+        publisher.publisher(MotionSubscriptionPolicy.latest()).subscribe(subscriber);
+        for (int i = 0; i < 5; i++) publisher.publish(motion(i));
+        subscriber.subscription.request(1);
+        Assertions.assertEquals(List.of(4.), subscriber.received);
+        subscriber.subscription.request(1);
+        Assertions.assertEquals(List.of(4.), subscriber.received);
+        publisher.publish(motion(5));
+        Assertions.assertEquals(List.of(4., 5.), subscriber.received);
+        subscriber.subscription.cancel();
+        Assertions.assertFalse(publisher.hasSubscribers());
+    }
+
+    @Test
+    public void test_sampled() {
+        var publisher = createPublisher();
+        var subscriber = new TestSubscriber();
+        publisher
+                .publisher(MotionSubscriptionPolicy.sampled(Duration.ofHours(1)))
+                .subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        for (int i = 0; i < 5; i++) publisher.publish(motion(i));
+        Assertions.assertEquals(List.of(0.), subscriber.received);
+    }
+
+    @Test
+    public void test_blocking_subscriber() throws Exception {
+        var publisher = new MotionPublisher();
+        var unblock = new CountDownLatch(1);
+        // enough of them to occupy all threads of the common pool
+        var blocking = new ArrayList<TestSubscriber>();
+        for (int i = 0; i <= ForkJoinPool.getCommonPoolParallelism(); i++) {
+            blocking.add(
+                    new TestSubscriber() {
+                        @Override
+                        public void onNext(Motion item) {
+                            Unchecked.run(unblock::await);
+                        }
+                    });
+        }
+        var delivered = new CountDownLatch(5);
+        var fast =
+                new TestSubscriber() {
+                    @Override
+                    public void onNext(Motion item) {
+                        delivered.countDown();
+                    }
+                };
+        for (var subscriber : blocking) {
+            publisher.publisher(MotionSubscriptionPolicy.latest()).subscribe(subscriber);
+            subscriber.subscription.request(Long.MAX_VALUE);
+        }
+        publisher.publisher(MotionSubscriptionPolicy.all(10)).subscribe(fast);
+        fast.subscription.request(Long.MAX_VALUE);
+        for (int i = 0; i < 5; i++) publisher.publish(motion(i));
+        Assertions.assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        // client continuations are not stalled either
+        Assertions.assertEquals(1, CompletableFuture.supplyAsync(() -> 1).get(5, TimeUnit.SECONDS));
+        unblock.countDown();
+        publisher.close();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.Joints;
+import pinorobotics.drac.trajectory.MotionTimeEstimator;
+
+public class MotionTimeEstimatorTest {
+
+    @Test
+    public void test_all_limits_reached() {
+        var estimator = new MotionTimeEstimator(100, 100, 1000);
+        // 0.1s to ramp acceleration, 0.9s at the acceleration limit, 0.1s to ramp down, so it
+        // takes 110 degrees to accelerate and decelerate, the rest is cruising at 100 deg/s
+        Assertions.assertEquals(1.1 + 200 / 100., estimator.seconds(200), 1e-9);
+        Assertions.assertEquals(2.2, estimator.seconds(110), 1e-9);
+        Assertions.assertEquals(2.2, estimator.seconds(-110), 1e-9);
+    }
+
+    @Test
+    public void test_acceleration_limit_not_reached() {
+        // default limits: velocity 25 deg/s is reached after 2 * sqrt(25 / 2500) = 0.2s, while
+        // acceleration reaches only 250 deg/s^2
+        var estimator = new MotionTimeEstimator(25, 500, 2500);
+        Assertions.assertEquals(0.2 + 100 / 25., estimator.seconds(100), 1e-9);
+    }
+
+    @Test
+    public void test_velocity_limit_not_reached() {
+        var estimator = new MotionTimeEstimator(100, 100, 1000);
+        // peak velocity v solves v * (v / a + a / j) = d
+        var v = 50 * (Math.sqrt(0.01 + 2) - 0.1);
+        Assertions.assertEquals(2 * (v / 100 + 0.1), estimator.seconds(50), 1e-9);
+        // neither acceleration nor velocity limit is reached, only jerk phases are left:
+        // d = 2 * j * (T / 4)^3
+        Assertions.assertEquals(4 * Math.cbrt(1 / 2000.), estimator.seconds(1), 1e-9);
+        Assertions.assertEquals(0, estimator.seconds(0));
+    }
+
+    @Test
+    public void test_continuity() {
+        var estimator = new MotionTimeEstimator(100, 100, 1000);
+        // crosses the distances where acceleration (2 degrees) and velocity (110 degrees) limits
+        // start to be reached
+        var prev = estimator.seconds(1);
+        for (double d = 1.01; d < 300; d += 0.01) {
+            var seconds = estimator.seconds(d);
+            Assertions.assertTrue(seconds > prev, "Duration should grow with distance");
+            Assertions.assertTrue(seconds - prev < 0.01, "Duration should not jump");
+            prev = seconds;
+        }
+    }
+
+    @Test
+    public void test_estimate() {
+        var estimator = new MotionTimeEstimator(100, 100, 1000);
+        // the joint with the longest distance defines the duration
+        Assertions.assertEquals(
+                Duration.ofMillis(3100),
+                estimator.estimate(new Joints(0, 0, 0, 0, 0), new Joints(-200, 50, 1, 0, 0)));
+        Assertions.assertEquals(Duration.ZERO, estimator.estimate(Joints.ZERO, Joints.ZERO));
+    }
+}
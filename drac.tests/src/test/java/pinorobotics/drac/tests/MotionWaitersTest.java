@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.Joints;
+import pinorobotics.drac.exceptions.DornaClientException;
+import pinorobotics.drac.impl.MotionWaiters;
+import pinorobotics.drac.messages.Motion;
+
+public class MotionWaitersTest {
+
+    private static Motion motion(double j0) {
+        return new Motion(Joints.of(new double[] {j0, 0, 0, 0, 0, 0, 0, 0}));
+    }
+
+    @Test
+    public void test_await() throws Exception {
+        var waiters = new MotionWaiters();
+        var future =
+                waiters.await(m -> m.joints().j0() > 10, Duration.ofMinutes(1), () -> motion(0));
+        Assertions.assertFalse(future.isDone());
+        waiters.test(motion(5));
+        Assertions.assertFalse(future.isDone());
+        waiters.test(motion(15));
+        Assertions.assertEquals(motion(15), future.get());
+        Assertions.assertFalse(waiters.hasWaiters());
+
+        // current motion already matches
+        future = waiters.await(m -> m.joints().j0() > 10, Duration.ofMinutes(1), () -> motion(20));
+        Assertions.assertEquals(motion(20), future.get());
+        Assertions.assertFalse(waiters.hasWaiters());
+    }
+
+    @Test
+    public void test_timeout() {
+        var waiters = new MotionWaiters();
+        var future = waiters.await(m -> false, Duration.ofMillis(10), () -> null);
+        var ex = Assertions.assertThrows(ExecutionException.class, future::get);
+        Assertions.assertInstanceOf(TimeoutException.class, ex.getCause());
+        Assertions.assertFalse(waiters.hasWaiters());
+    }
+
+    @Test
+    public void test_cancel_and_close() {
+        var waiters = new MotionWaiters();
+        waiters.await(m -> false, Duration.ofMinutes(1), () -> null).cancel(false);
+        Assertions.assertFalse(waiters.hasWaiters());
+        var future = waiters.await(m -> false, Duration.ofMinutes(1), () -> null);
+        waiters.close();
+        var ex = Assertions.assertThrows(ExecutionException.class, future::get);
+        Assertions.assertInstanceOf(DornaClientException.class, ex.getCause());
+        Assertions.assertFalse(waiters.hasWaiters());
+    }
+
+    @Test
+    public void test_await_concurrently_with_close() throws Exception {
+        var waiters = new MotionWaiters();
+        var futures = new ConcurrentLinkedQueue<CompletableFuture<Motion>>();
+        try (var executor = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 4; i++) {
+                executor.execute(
+                        () -> {
+                            for (int n = 0; n < 1000; n++)
+                                futures.add(
+                                        waiters.await(m -> false, Duration.ofDays(1), () -> null));
+                        });
+            }
+            waiters.close();
+        }
+        // waiters which were added while closing are failed as well
+        futures.forEach(future -> Assertions.assertTrue(future.isCompletedExceptionally()));
+        Assertions.assertFalse(waiters.hasWaiters());
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.CommandType;
+import pinorobotics.drac.exceptions.DornaClientException;
+import pinorobotics.drac.impl.PendingCommands;
+
+public class PendingCommandsTest {
+
+    @Test
+    public void test() {
+        var commands = new PendingCommands(4);
+        var completion = commands.awaitCompletion(1, CommandType.JMOVE, "");
+        var result = commands.awaitResult(2, CommandType.JOINT, "");
+        Assertions.assertEquals(2, commands.size());
+        Assertions.assertFalse(commands.find(1).awaitsResult());
+        Assertions.assertTrue(commands.find(2).awaitsResult());
+        Assertions.assertNull(commands.find(3));
+        // same slot as command 1
+        Assertions.assertNull(commands.find(5));
+        Assertions.assertThrows(
+                DornaClientException.class,
+                () -> commands.awaitCompletion(5, CommandType.JMOVE, ""));
+
+        completion.complete(null);
+        Assertions.assertNull(commands.find(1));
+        Assertions.assertEquals(1, commands.size());
+        commands.awaitCompletion(5, CommandType.JMOVE, "");
+        Assertions.assertTrue(commands.isOccupied(1));
+
+        result.completeExceptionally(new DornaClientException("error"));
+        Assertions.assertNull(commands.find(2));
+        commands.awaitResult(6, CommandType.JOINT, "").cancel(false);
+        Assertions.assertNull(commands.find(6));
+        Assertions.assertEquals(1, commands.size());
+    }
+
+    @Test
+    public void test_cancel() {
+        var commands = new PendingCommands(8);
+        var jmove1 = commands.awaitCompletion(1, CommandType.JMOVE, "");
+        var joint = commands.awaitResult(2, CommandType.JOINT, "");
+        var jmove2 = commands.awaitCompletion(3, CommandType.JMOVE, "");
+        Assertions.assertEquals(
+                2, commands.cancel(command -> command.command().equals(CommandType.JMOVE)));
+        Assertions.assertTrue(jmove1.isCancelled());
+        Assertions.assertTrue(jmove2.isCancelled());
+        Assertions.assertFalse(joint.isDone());
+        Assertions.assertEquals(1, commands.size());
+    }
+}
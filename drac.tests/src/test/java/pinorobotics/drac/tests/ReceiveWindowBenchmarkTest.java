@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import pinorobotics.drac.DornaClientConfig;
+import pinorobotics.drac.DornaRobotModel;
+import pinorobotics.drac.impl.CommandServerListener;
+import pinorobotics.drac.impl.DornaClientImpl;
+import pinorobotics.drac.impl.DracSocket;
+import pinorobotics.drac.impl.DracSocketFactory;
+import pinorobotics.drac.impl.MessageProcessor;
+
+/**
+ * Compares time it takes to receive completion statuses of the commands with different receive
+ * windows (see {@link DornaClientConfig.Builder#receiveWindow(int)}).
+ *
+ * <p>Statuses are sent by {@link CommandServerEchoMock} which runs in the same JVM so results show
+ * only the overhead of the client itself.
+ *
+ * <p>Enabled with -Ddrac.benchmark=true
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+@EnabledIfSystemProperty(named = "drac.benchmark", matches = "true")
+public class ReceiveWindowBenchmarkTest {
+    private static final int WARMUP_COMMANDS = 20_000;
+    private static final int COMMANDS = 100_000;
+    private static final int BATCH_SIZE = 32;
+
+    private static Level rootLevel;
+
+    /** Commands are logged by the client which otherwise dominates the results */
+    @BeforeAll
+    public static void setup() {
+        rootLevel = Logger.getLogger("").getLevel();
+        Logger.getLogger("").setLevel(Level.OFF);
+    }
+
+    @AfterAll
+    public static void cleanup() {
+        Logger.getLogger("").setLevel(rootLevel);
+    }
+
+    @Test
+    public void test() {
+        for (var window : new int[] {1, 4, DornaClientConfig.Builder.DEFAULT_RECEIVE_WINDOW}) {
+            try (var client = createClient(window)) {
+                run(client, WARMUP_COMMANDS);
+                var startAt = System.nanoTime();
+                run(client, COMMANDS);
+                var duration = Duration.ofNanos(System.nanoTime() - startAt);
+                System.out.format(
+                        "receiveWindow=%d: %d commands in %s, %.2f us per command%n",
+                        window, COMMANDS, duration, duration.toNanos() / 1000. / COMMANDS);
+            }
+        }
+    }
+
+    private void run(DornaClientImpl client, int count) {
+        var home = DornaRobotModel.DORNA2_BLACK.home();
+        var batch = new ArrayList<CompletableFuture<Void>>();
+        for (int i = 0; i < count; i++) {
+            batch.add(client.jmoveAsync(home, false));
+            if (batch.size() == BATCH_SIZE) {
+                batch.forEach(CompletableFuture::join);
+                batch.clear();
+            }
+        }
+        batch.forEach(CompletableFuture::join);
+    }
+
+    private DornaClientImpl createClient(int receiveWindow) {
+        var factory =
+                new DracSocketFactory() {
+                    @Override
+                    public DracSocket create(
+                            URI dornaUrl, MessageProcessor messageProc, Optional<Path> outputLog) {
+                        return new DracSocket(
+                                new CommandServerEchoMock(
+                                        new CommandServerListener(messageProc, receiveWindow)),
+                                outputLog);
+                    }
+                };
+        var config =
+                new DornaClientConfig.Builder(
+                                URI.create("ws://dorna"), DornaRobotModel.DORNA2_BLACK)
+                        .receiveWindow(receiveWindow)
+                        .build();
+        return new DornaClientImpl(config, factory);
+    }
+}
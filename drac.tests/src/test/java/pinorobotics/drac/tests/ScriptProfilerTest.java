@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import java.net.URI;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.CommandType;
+import pinorobotics.drac.DornaClientConfig;
+import pinorobotics.drac.DornaRobotModel;
+import pinorobotics.drac.Joints;
+import pinorobotics.drac.exceptions.DornaClientException;
+import pinorobotics.drac.trajectory.MotionTimeEstimator;
+import pinorobotics.drac.trajectory.ScriptProfile;
+import pinorobotics.drac.trajectory.ScriptProfiler;
+
+public class ScriptProfilerTest {
+
+    private static final DornaClientConfig CONFIG =
+            new DornaClientConfig.Builder(URI.create("ws://dorna"), DornaRobotModel.DORNA2_BLACK)
+                    .build();
+
+    @Test
+    public void test() {
+        var script =
+                List.of(
+                        """
+                        {"cmd":"motor","motor":1}""",
+                        "",
+                        """
+                        {"cmd":"jmove","rel":0,"j0":80}""",
+                        """
+                        {"cmd":"sync"}""",
+                        """
+                        {"cmd":"jmove","rel":1,"j1":-100,"vel":100,"accel":100,"jerk":1000}""",
+                        """
+                        {"cmd":"jmove","rel":0,"j1":180}""",
+                        """
+                        {"cmd":"joint","j0":0}""",
+                        """
+                        {"cmd":"jmove","rel":0,"j0":1}""");
+        var profile = new ScriptProfiler(CONFIG).profile(script);
+        var lines = profile.lines();
+        Assertions.assertEquals(7, lines.size());
+        Assertions.assertEquals(
+                List.of(1, 3, 4, 5, 6, 7, 8), lines.stream().map(l -> l.lineNumber()).toList());
+        Assertions.assertEquals(CommandType.MOTOR, lines.get(0).command());
+        Assertions.assertEquals(0, seconds(lines.get(0)));
+        // moves with the limits of the client configuration
+        Assertions.assertEquals(
+                new MotionTimeEstimator(CONFIG).seconds(100), seconds(lines.get(1)), 1e-6);
+        Assertions.assertEquals(0, seconds(lines.get(2)));
+        var limits = new MotionTimeEstimator(100, 100, 1000);
+        Assertions.assertEquals(limits.seconds(100), seconds(lines.get(3)), 1e-6);
+        // limits are kept from the previous command
+        Assertions.assertEquals(limits.seconds(100), seconds(lines.get(4)), 1e-6);
+        Assertions.assertEquals(0, seconds(lines.get(5)));
+        // position was changed by the joint command
+        Assertions.assertEquals(limits.seconds(1), seconds(lines.get(6)), 1e-6);
+        Assertions.assertEquals(
+                lines.stream().mapToDouble(ScriptProfilerTest::seconds).sum(),
+                profile.total().toNanos() / 1e9,
+                1e-6);
+        Assertions.assertEquals(new Joints(1, 180, -142, 135, 0), profile.end());
+    }
+
+    @Test
+    public void test_start() {
+        var profile =
+                new ScriptProfiler(CONFIG)
+                        .profile(
+                                List.of(
+                                        """
+                                        {"cmd":"jmove","rel":1,"j0":10}"""),
+                                Joints.ZERO);
+        Assertions.assertEquals(new Joints(10, 0, 0, 0, 0), profile.end());
+    }
+
+    @Test
+    public void test_invalid() {
+        var profiler = new ScriptProfiler(CONFIG);
+        var e =
+                Assertions.assertThrows(
+                        DornaClientException.class,
+                        () ->
+                                profiler.profile(
+                                        List.of(
+                                                """
+                                                {"cmd":"jmove","j0":0,"vel":0}""")));
+        Assertions.assertEquals("Line 1: Velocity should be positive", e.getMessage());
+        e =
+                Assertions.assertThrows(
+                        DornaClientException.class, () -> profiler.profile(List.of("", "{")));
+        Assertions.assertEquals("Line 2 is not valid JSON", e.getMessage());
+    }
+
+    private static double seconds(ScriptProfile.Line line) {
+        return line.duration().toNanos() / 1e9;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.impl.SharedHttpClient;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class SharedHttpClientTest {
+
+    @Test
+    public void test() throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var shared = new SharedHttpClient(Optional.of(executor));
+            Assertions.assertThrows(RuntimeException.class, shared::get);
+            Assertions.assertThrows(RuntimeException.class, shared::release);
+
+            shared.acquire();
+            shared.acquire();
+            var client = shared.get();
+            Assertions.assertSame(client, shared.get());
+            Assertions.assertSame(executor, client.executor().get());
+
+            shared.release();
+            Assertions.assertSame(client, shared.get());
+            Assertions.assertFalse(client.isTerminated());
+
+            // last user releases the client
+            shared.release();
+            Assertions.assertEquals(0, shared.getRefCount());
+            Assertions.assertTrue(client.awaitTermination(Duration.ofSeconds(5)));
+
+            shared.acquire();
+            var newClient = shared.get();
+            Assertions.assertNotSame(client, newClient);
+            shared.release();
+            Assertions.assertTrue(newClient.awaitTermination(Duration.ofSeconds(5)));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.impl.TimingWheel;
+
+public class TimingWheelTest {
+
+    @Test
+    public void test() throws Exception {
+        try (var wheel = new TimingWheel("test", Duration.ofMillis(1), 8)) {
+            var count = 100;
+            var expired = new CountDownLatch(count / 2);
+            var cancelledExpired = new AtomicInteger();
+            var timeouts = new ArrayList<TimingWheel.Timeout>();
+            var startAt = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                // delays span several rotations of the wheel
+                var delay = Duration.ofMillis(i % 40);
+                if (i % 2 == 0) {
+                    wheel.schedule(
+                            () -> {
+                                Assertions.assertTrue(
+                                        System.nanoTime() - startAt >= delay.toNanos());
+                                expired.countDown();
+                            },
+                            delay);
+                } else {
+                    timeouts.add(
+                            wheel.schedule(
+                                    cancelledExpired::incrementAndGet, delay.plusMillis(20)));
+                }
+            }
+            timeouts.forEach(TimingWheel.Timeout::cancel);
+            Assertions.assertTrue(expired.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            Assertions.assertEquals(0, cancelledExpired.get());
+        }
+    }
+
+    @Test
+    public void test_idle() throws Exception {
+        try (var wheel = new TimingWheel("test-idle", Duration.ofMillis(1), 8)) {
+            var expired = new CountDownLatch(1);
+            wheel.schedule(expired::countDown, Duration.ofMillis(5));
+            Assertions.assertTrue(expired.await(5, TimeUnit.SECONDS));
+            var thread = findThread("test-idle");
+            for (int i = 0; i < 100 && thread.getState() != Thread.State.WAITING; i++)
+                Thread.sleep(10);
+            // parked without deadline since there are no timeouts
+            Assertions.assertEquals(Thread.State.WAITING, thread.getState());
+
+            var startAt = System.nanoTime();
+            var delay = Duration.ofMillis(20);
+            var expiredAgain = new CountDownLatch(1);
+            wheel.schedule(
+                    () -> {
+                        Assertions.assertTrue(System.nanoTime() - startAt >= delay.toNanos());
+                        expiredAgain.countDown();
+                    },
+                    delay);
+            Assertions.assertTrue(expiredAgain.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private static Thread findThread(String name) {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.drac.DornaRobotModel;
+import pinorobotics.drac.Joints;
+import pinorobotics.drac.trajectory.TrajectorySimplifier;
+
+public class TrajectorySimplifierTest {
+
+    @Test
+    public void test_collinear() {
+        var trajectory = new ArrayList<Joints>();
+        for (int i = 0; i <= 100; i++) trajectory.add(new Joints(i, i / 2., -i, 0, 10));
+        var out = new ArrayList<Joints>();
+        var report =
+                new TrajectorySimplifier(DornaRobotModel.DORNA2_BLACK).simplify(trajectory, out);
+        Assertions.assertEquals(List.of(trajectory.get(0), trajectory.get(100)), out);
+        Assertions.assertEquals(101, report.inputCount());
+        Assertions.assertEquals(99, report.removedCount());
+        Assertions.assertEquals(0, report.maxDeviation(), 1e-9);
+    }
+
+    @Test
+    public void test_per_joint_tolerance() {
+        var simplifier = new TrajectorySimplifier(new double[] {1, 0.1});
+        var kept = new int[3];
+        // j0 deviates within its tolerance
+        var report = simplifier.simplify(new double[] {0, 0, 0.5, 5, 0, 10}, 3, 2, kept);
+        Assertions.assertEquals(2, report.outputCount());
+        Assertions.assertArrayEquals(new int[] {0, 2}, Arrays.copyOf(kept, 2));
+        Assertions.assertEquals(0.5, report.maxDeviation(), 1e-9);
+
+        // same deviation of j1 exceeds its tolerance
+        report = simplifier.simplify(new double[] {0, 0, 5, 0.5, 10, 0}, 3, 2, kept);
+        Assertions.assertEquals(3, report.outputCount());
+        Assertions.assertArrayEquals(new int[] {0, 1, 2}, kept);
+        Assertions.assertEquals(0, report.maxDeviation());
+
+        report = simplifier.simplify(new double[] {0, 0, 5, 0.05, 10, 0}, 3, 2, kept);
+        Assertions.assertEquals(2, report.outputCount());
+        Assertions.assertEquals(0.05, report.maxDeviation(), 1e-9);
+    }
+
+    @Test
+    public void test_joints_without_tolerance() {
+        var trajectory =
+                List.of(
+                        new Joints(0, 0, 0, 0, 0, 0, 0, 0),
+                        new Joints(1, 0, 0, 0, 0, 0.001, 0, 0),
+                        new Joints(2, 0, 0, 0, 0, 0, 0, 0));
+        var out = new ArrayList<Joints>();
+        new TrajectorySimplifier(DornaRobotModel.DORNA2_BLACK).simplify(trajectory, out);
+        Assertions.assertEquals(trajectory, out);
+    }
+
+    @Test
+    public void test_random_walk() {
+        var random = new Random(1);
+        var tolerance = DornaRobotModel.DEFAULT_JOINT_TOLERANCE;
+        var trajectory = new ArrayList<Joints>();
+        var j0 = 0.;
+        var j1 = 0.;
+        for (int i = 0; i < 10_000; i++) {
+            j0 += 0.01 + random.nextGaussian() * 0.01;
+            j1 += random.nextGaussian() * 0.01;
+            trajectory.add(new Joints(j0, j1, 0, 0, 0));
+        }
+        var out = new ArrayList<Joints>();
+        var report =
+                new TrajectorySimplifier(DornaRobotModel.DORNA2_BLACK).simplify(trajectory, out);
+        Assertions.assertEquals(out.size(), report.outputCount());
+        Assertions.assertTrue(report.removedCount() > 5_000, "" + report);
+        Assertions.assertTrue(report.maxDeviation() <= tolerance, "" + report);
+        Assertions.assertEquals(trajectory.getFirst(), out.getFirst());
+        Assertions.assertEquals(trajectory.getLast(), out.getLast());
+    }
+
+    @Test
+    public void test_script() {
+        var script =
+                """
+{"cmd":"jmove","rel":0,"j0":0,"j1":0,"vel":10}
+{"cmd":"jmove","rel":0,"j0":1,"j1":1,"vel":10,"id":5}
+
+{"cmd":"jmove","rel":0,"j0":2,"j1":2,"vel":10}
+{"cmd":"jmove","rel":0,"j0":3,"j1":3,"vel":10}
+{"cmd":"motor","motor":1}
+{"cmd":"jmove","rel":0,"j0":4,"j1":4,"vel":10}
+{"cmd":"jmove","rel":0,"j0":5,"j1":5,"vel":20}
+{"cmd":"jmove","rel":0,"j0":6,"j1":6,"vel":20}
+{"cmd":"jmove","rel":1,"j0":1,"j1":1,"vel":20}
+{"cmd":"jmove","rel":1,"j0":1,"j1":1,"vel":20}
+{"cmd":"jmove","rel":1,"j0":1,"j1":1,"vel":20}"""
+                        .lines()
+                        .toList();
+        var out = new ArrayList<String>();
+        var report =
+                new TrajectorySimplifier(DornaRobotModel.DORNA2_BLACK).simplifyScript(script, out);
+        Assertions.assertEquals(
+                """
+{"cmd":"jmove","rel":0,"j0":0,"j1":0,"vel":10}
+{"cmd":"jmove","rel":0,"j0":3,"j1":3,"vel":10}
+{"cmd":"motor","motor":1}
+{"cmd":"jmove","rel":0,"j0":4,"j1":4,"vel":10}
+{"cmd":"jmove","rel":0,"j0":5,"j1":5,"vel":20}
+{"cmd":"jmove","rel":0,"j0":6,"j1":6,"vel":20}
+{"cmd":"jmove","rel":1,"j0":1,"j1":1,"vel":20}
+{"cmd":"jmove","rel":1,"j0":1,"j1":1,"vel":20}
+{"cmd":"jmove","rel":1,"j0":1,"j1":1,"vel":20}""",
+                String.join("\n", out));
+        Assertions.assertEquals(11, report.inputCount());
+        Assertions.assertEquals(2, report.removedCount());
+    }
+}
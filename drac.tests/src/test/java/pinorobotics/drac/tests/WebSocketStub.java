@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.tests;
+
+import java.io.IOException;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/** WebSocket which completes sends only when test asks for it */
+public class WebSocketStub implements WebSocket {
+    List<String> sent = new ArrayList<>();
+    List<CompletableFuture<WebSocket>> sends = new ArrayList<>();
+    int outstanding;
+    int maxOutstanding;
+    long requested;
+
+    @Override
+    public CompletableFuture<WebSocket> sendText(CharSequence data, boolean last) {
+        sent.add(data.toString());
+        outstanding++;
+        maxOutstanding = Math.max(maxOutstanding, outstanding);
+        var future = new CompletableFuture<WebSocket>();
+        sends.add(future);
+        return future;
+    }
+
+    void complete(int index) {
+        outstanding--;
+        sends.get(index).complete(this);
+    }
+
+    void fail(int index) {
+        outstanding--;
+        sends.get(index).completeExceptionally(new IOException("broken"));
+    }
+
+    @Override
+    public CompletableFuture<WebSocket> sendBinary(ByteBuffer data, boolean last) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletableFuture<WebSocket> sendPing(ByteBuffer message) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletableFuture<WebSocket> sendPong(ByteBuffer message) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletableFuture<WebSocket> sendClose(int statusCode, String reason) {
+        return CompletableFuture.completedFuture(this);
+    }
+
+    @Override
+    public void request(long n) {
+        requested += n;
+    }
+
+    @Override
+    public String getSubprotocol() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isOutputClosed() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isInputClosed() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void abort() {}
+}
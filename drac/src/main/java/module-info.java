@@ -84,6 +84,7 @@ module drac {
     exports pinorobotics.drac.messages;
     exports pinorobotics.drac.metrics;
     exports pinorobotics.drac.exceptions;
+    exports pinorobotics.drac.trajectory;
     exports pinorobotics.drac.impl to
             drac.tests;
 
@@ -19,7 +19,6 @@ package pinorobotics.drac;
 
 import java.util.Arrays;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -69,8 +68,8 @@ public class CommandStatus {
     }
 
     public static CommandStatus findOrCreate(int status) {
-        return Optional.ofNullable(MAP.get(status))
-                .orElseGet(() -> new CommandStatus(status, "unknown"));
+        var val = MAP.get(status);
+        return val != null ? val : new CommandStatus(status, "unknown");
     }
 
     private static final Map<Integer, CommandStatus> MAP =
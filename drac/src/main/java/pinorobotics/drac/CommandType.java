@@ -31,4 +31,13 @@ public interface CommandType {
     String JOINT = "joint";
     String JMOVE = "jmove";
     String MOTOR = "motor";
+    String HALT = "halt";
+
+    /**
+     * Synchronization point inside the script. It is not a Command Server command and it is never
+     * sent to it.
+     *
+     * @see DornaFleet#playSynchronized(java.util.Map)
+     */
+    String SYNC = "sync";
 }
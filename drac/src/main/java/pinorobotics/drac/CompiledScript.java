@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac;
+
+import id.xfunction.PreconditionException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import pinorobotics.drac.exceptions.DornaClientException;
+import pinorobotics.drac.impl.JointLimits;
+import pinorobotics.drac.impl.Message;
+import pinorobotics.drac.impl.MessageUtils;
+
+/**
+ * Script which is parsed and validated once so that it can be played many times.
+ *
+ * <p>Each command is stored split at the position of its "id" field, so when the script is played
+ * only the client managed id needs to be inserted.
+ *
+ * <p>Script can be split into segments by {@link CommandType#SYNC} markers, for example:
+ *
+ * {@snippet lang="plain" :
+ * {"cmd":"jmove","rel":0,"j0":10}
+ * {"cmd":"sync"}
+ * {"cmd":"jmove","rel":0,"j0":20}
+ * }
+ *
+ * <p>Markers are removed from the script during compilation, so when it is played by a single
+ * client they are ignored.
+ *
+ * <p>This class is immutable and thread-safe.
+ *
+ * @see DornaClient#compile(List)
+ * @see DornaClient#play(CompiledScript)
+ * @author lambdaprime intid@protonmail.com
+ */
+public class CompiledScript {
+
+    private final String[] prefixes;
+    private final String[] suffixes;
+    private final String[] commandTypes;
+
+    /** Index of the first command of each segment */
+    private final int[] segmentStarts;
+
+    private CompiledScript(
+            String[] prefixes, String[] suffixes, String[] commandTypes, int[] segmentStarts) {
+        this.prefixes = prefixes;
+        this.suffixes = suffixes;
+        this.commandTypes = commandTypes;
+        this.segmentStarts = segmentStarts;
+    }
+
+    /**
+     * Parse and validate the script.
+     *
+     * <p>Absolute "jmove" and "joint" commands are checked against the joint limits of the model.
+     * Blank lines are ignored.
+     *
+     * @param script list of commands in JSON format (see {@link DornaClient#play(List)})
+     * @throws DornaClientException if any of the commands is not valid JSON or moves joints out of
+     *     their limits
+     */
+    public static CompiledScript compile(List<String> script, DornaRobotModel model)
+            throws DornaClientException {
+        return compile(script, 1, model);
+    }
+
+    /**
+     * Parse and validate part of the larger script.
+     *
+     * @param firstLineNumber number of the first line of the given part inside the whole script,
+     *     used in the error messages
+     * @see #compile(List, DornaRobotModel)
+     */
+    public static CompiledScript compile(
+            List<String> script, int firstLineNumber, DornaRobotModel model)
+            throws DornaClientException {
+        var prefixes = new ArrayList<String>(script.size());
+        var suffixes = new ArrayList<String>(script.size());
+        var commandTypes = new ArrayList<String>(script.size());
+        var segmentStarts = new ArrayList<Integer>();
+        segmentStarts.add(0);
+        for (int i = 0; i < script.size(); i++) {
+            var line = script.get(i);
+            if (line.isBlank()) continue;
+            var lineNumber = firstLineNumber + i;
+            var message =
+                    MessageUtils.parse(line)
+                            .orElseThrow(
+                                    () ->
+                                            new DornaClientException(
+                                                    "Line " + lineNumber + " is not valid JSON"));
+            if (message.command().equals(CommandType.SYNC)) {
+                segmentStarts.add(prefixes.size());
+                continue;
+            }
+            try {
+                verifyLimits(message, model);
+            } catch (PreconditionException e) {
+                throw new DornaClientException("Line " + lineNumber + ": " + e.getMessage());
+            }
+            var parts = MessageUtils.splitAtId(line);
+            prefixes.add(parts[0]);
+            suffixes.add(parts[1]);
+            commandTypes.add(message.command());
+        }
+        return new CompiledScript(
+                prefixes.toArray(new String[0]),
+                suffixes.toArray(new String[0]),
+                commandTypes.toArray(new String[0]),
+                segmentStarts.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static void verifyLimits(Message message, DornaRobotModel model) {
+        var cmd = message.command();
+        if (!cmd.equals(CommandType.JMOVE) && !cmd.equals(CommandType.JOINT)) return;
+        // relative moves depend on the position of the arm at the time when they are played
+        if (message.find("rel", Number.class).map(Number::intValue).orElse(0) != 0) return;
+        for (int i = 0; i < model.lowerLimit().length; i++) {
+            var joint = message.find("j" + i, Number.class);
+            if (joint.isPresent()) JointLimits.verify(model, i, joint.get().doubleValue());
+        }
+    }
+
+    /** Number of commands in the script */
+    public int size() {
+        return prefixes.length;
+    }
+
+    /** Append command with the given id to the buffer */
+    public void appendCommand(int index, int id, StringBuilder out) {
+        out.append(prefixes[index]).append(id).append(suffixes[index]);
+    }
+
+    /** Type of the command (see {@link CommandType}) */
+    public String commandType(int index) {
+        return commandTypes[index];
+    }
+
+    public String command(int index, int id) {
+        return prefixes[index] + id + suffixes[index];
+    }
+
+    /**
+     * Number of segments separated by {@link CommandType#SYNC} markers. Script without markers
+     * consists of one segment. Segments can be empty.
+     */
+    public int segmentCount() {
+        return segmentStarts.length;
+    }
+
+    /** Script which consists only of the commands of the given segment */
+    public CompiledScript segment(int segment) {
+        var from = segmentStarts[segment];
+        var to = segment + 1 < segmentStarts.length ? segmentStarts[segment + 1] : size();
+        return new CompiledScript(
+                Arrays.copyOfRange(prefixes, from, to),
+                Arrays.copyOfRange(suffixes, from, to),
+                Arrays.copyOfRange(commandTypes, from, to),
+                new int[] {0});
+    }
+}
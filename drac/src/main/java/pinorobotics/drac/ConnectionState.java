@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac;
+
+/**
+ * State of the connection to the Dorna Command Server
+ *
+ * @see DornaClient#addConnectionStateListener(java.util.function.Consumer)
+ * @author lambdaprime intid@protonmail.com
+ */
+public enum ConnectionState {
+    /** Client did not issue any commands yet or connection was lost and will not be restored */
+    DISCONNECTED,
+
+    /** Connection is being opened for the first time */
+    CONNECTING,
+
+    CONNECTED,
+
+    /**
+     * Connection was lost and client is trying to restore it (see {@link
+     * DornaClientConfig.Builder#reconnect(boolean)})
+     */
+    RECONNECTING,
+
+    /** Client is closed */
+    CLOSED
+}
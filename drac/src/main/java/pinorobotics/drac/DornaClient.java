@@ -17,12 +17,19 @@
  */
 package pinorobotics.drac;
 
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import pinorobotics.drac.exceptions.DornaClientException;
 import pinorobotics.drac.messages.Motion;
+import pinorobotics.drac.messages.MotionSamples;
+import pinorobotics.drac.messages.MotionSnapshot;
 
 /**
  * Client to Dorna robotic arm.
@@ -44,11 +51,22 @@ public interface DornaClient extends AutoCloseable {
      */
     int version() throws DornaClientException;
 
+    /**
+     * Asynchronous version of {@link #version()}
+     *
+     * <p>Similar to other asynchronous commands it does not block the calling thread while command
+     * is executed by the Command Server.
+     */
+    CompletableFuture<Integer> versionAsync();
+
     /**
      * @see <a href="https://doc.dorna.ai/docs/cmd/joint/">joint command</a>
      */
     void joint(Joints joints) throws DornaClientException;
 
+    /** Asynchronous version of {@link #joint(Joints)} */
+    CompletableFuture<Void> jointAsync(Joints joints);
+
     /**
      * Perform discrete, synchronous joint move.
      *
@@ -74,6 +92,24 @@ public interface DornaClient extends AutoCloseable {
             double jerk)
             throws DornaClientException;
 
+    /** Asynchronous version of {@link #jmove(Joints, boolean)} */
+    CompletableFuture<Void> jmoveAsync(Joints joints, boolean isRelative);
+
+    /**
+     * Asynchronous version of {@link #jmove(Joints, boolean, boolean, boolean, double, double,
+     * double)}
+     *
+     * <p>Unlike jmove with isAsync flag, the command is sent with unique id and returned future is
+     * completed only when the Command Server completes the move.
+     */
+    CompletableFuture<Void> jmoveAsync(
+            Joints joints,
+            boolean isRelative,
+            boolean isContinuous,
+            double velocity,
+            double acceleration,
+            double jerk);
+
     /**
      * Perform joint move.
      *
@@ -82,6 +118,31 @@ public interface DornaClient extends AutoCloseable {
      */
     void motor(boolean isOn) throws DornaClientException;
 
+    /**
+     * Asynchronous version of {@link #motor(boolean)}
+     *
+     * <p>If user confirmation is required before turning off the motor (see {@link
+     * DornaClientConfig.Builder#confirmMotorShutOff(boolean)}) then it is still requested
+     * synchronously before the command is sent.
+     */
+    CompletableFuture<Void> motorAsync(boolean isOn);
+
+    /**
+     * Stop the robot as soon as possible.
+     *
+     * <p>Halt command is sent ahead of all other commands which are waiting to be sent. All pending
+     * motion commands, including the ones issued by the scripts which are being played, are
+     * cancelled and those of them which are not sent yet are never sent. Motion commands sent
+     * without id (see isAsync flag of {@link #jmove(Joints, boolean, boolean, boolean, double,
+     * double, double)}) are not tracked and so they are not cancelled.
+     *
+     * @see <a href="https://doc.dorna.ai/docs/cmd/halt/">halt command</a>
+     */
+    void halt() throws DornaClientException;
+
+    /** Asynchronous version of {@link #halt()} */
+    CompletableFuture<Void> haltAsync();
+
     /*
      * drac features goes below
      */
@@ -91,29 +152,205 @@ public interface DornaClient extends AutoCloseable {
      */
     DornaRobotModel model();
 
+    /**
+     * Open connection to the Command Server unless it is already open.
+     *
+     * <p>Client connects on its first operation, this allows to do it ahead of time.
+     */
+    void connect() throws DornaClientException;
+
+    /**
+     * State of the connection to the Command Server.
+     *
+     * <p>When connection is lost the client reconnects to the Command Server on its own (see {@link
+     * DornaClientConfig.Builder#reconnect(boolean)}). Commands which are pending at that moment are
+     * resent or failed with {@link pinorobotics.drac.exceptions.ConnectionLostException} depending
+     * on their {@link RecoveryPolicy}.
+     *
+     * <p>This is offline operation.
+     */
+    ConnectionState getConnectionState();
+
+    /**
+     * Listener is called from the client threads each time connection state changes and should
+     * return fast.
+     */
+    void addConnectionStateListener(Consumer<ConnectionState> listener);
+
     /**
      * Last motion message received from the Command Server
      *
      * <p>This is offline operation.
+     *
+     * @see #getLastMotion(MotionSnapshot)
      */
     Motion getLastMotion();
 
+    /**
+     * Copy last motion message received from the Command Server into the given snapshot.
+     *
+     * <p>Unlike {@link #getLastMotion()} this operation does not allocate any objects and so it is
+     * suitable for control loops which poll motion at high rate. It can be called from many threads
+     * concurrently as long as each thread uses its own snapshot.
+     *
+     * <p>This is offline operation.
+     */
+    void getLastMotion(MotionSnapshot snapshot);
+
+    /**
+     * Find latest motion message which was received at or before the given time.
+     *
+     * <p>Number of messages kept in the history is defined by {@link
+     * DornaClientConfig.Builder#motionHistoryCapacity(int)}
+     *
+     * <p>This is offline operation.
+     *
+     * @param time time in {@link System#nanoTime()} units
+     * @return false if there is no such message in the motion history
+     */
+    boolean getMotionAt(long time, MotionSnapshot snapshot);
+
+    /**
+     * Copy all motion messages received within [fromTime, toTime] range from the motion history
+     * into the given buffer.
+     *
+     * <p>This is offline operation.
+     *
+     * @param fromTime time in {@link System#nanoTime()} units
+     * @param toTime time in {@link System#nanoTime()} units
+     * @return number of copied messages. If buffer is too small only the oldest messages are
+     *     copied.
+     * @see #getMotionAt(long, MotionSnapshot)
+     */
+    int getMotionHistory(long fromTime, long toTime, MotionSamples samples);
+
+    /**
+     * Calculate motion at the given time using linear interpolation between the two closest motion
+     * messages from the motion history.
+     *
+     * <p>This is offline operation.
+     *
+     * @param time time in {@link System#nanoTime()} units
+     * @return false if time is outside of the motion history
+     * @see #getMotionAt(long, MotionSnapshot)
+     */
+    boolean interpolateMotion(long time, MotionSnapshot snapshot);
+
+    /**
+     * Publisher of motion messages received from the Command Server.
+     *
+     * <p>Each subscriber receives motion messages according to the given policy and from its own
+     * thread, so slow subscribers never delay processing of messages from the Command Server or
+     * other subscribers. Subscriptions are completed when client is closed.
+     *
+     * <p>Example:
+     *
+     * {@snippet lang="java" :
+     * client.getMotionPublisher(MotionSubscriptionPolicy.sampled(Duration.ofMillis(100)))
+     *         .subscribe(new SimpleSubscriber<>() {
+     *             @Override
+     *             public void onNext(Motion motion) {
+     *                 System.out.println(motion);
+     *                 getSubscription().get().request(1);
+     *             }
+     *         });
+     * }
+     */
+    Flow.Publisher<Motion> getMotionPublisher(MotionSubscriptionPolicy policy);
+
+    /**
+     * Wait until motion message which satisfies the given predicate is received from the Command
+     * Server.
+     *
+     * <p>If last received motion already satisfies the predicate then it is returned immediately.
+     *
+     * @param predicate evaluated by the thread which receives messages from the Command Server, so
+     *     it should be fast and should not block
+     * @throws DornaClientException if no such message received within the timeout
+     * @see #awaitMotionAsync(Predicate, Duration)
+     */
+    default Motion awaitMotion(Predicate<Motion> predicate, Duration timeout)
+            throws DornaClientException {
+        try {
+            return awaitMotionAsync(predicate, timeout).get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new DornaClientException(e);
+        }
+    }
+
+    /**
+     * Asynchronous version of {@link #awaitMotion(Predicate, Duration)}
+     *
+     * <p>Example:
+     *
+     * {@snippet lang="java" :
+     * client.awaitMotionAsync(m -> m.joints().j0() > 90, Duration.ofSeconds(5))
+     *         .thenAccept(m -> System.out.println("j0 crossed 90 degrees"));
+     * }
+     *
+     * @return future which is completed with the matching motion message or fails with {@link
+     *     java.util.concurrent.TimeoutException}. Cancelling the future stops waiting.
+     */
+    CompletableFuture<Motion> awaitMotionAsync(Predicate<Motion> predicate, Duration timeout);
+
     /**
      * Send list of recorded commands to Dorna Command Server.
      *
      * <p>Commands must be given in JSON format with one command per line (same as they are used in
-     * DornaLab)
+     * DornaLab). File can be compressed with gzip.
+     *
+     * <p>Large and compressed files are not loaded into memory but read as they are played, so
+     * their first command is sent right away. Commands of such scripts are validated in chunks as
+     * the file is read, so invalid command fails the play when its chunk is reached and some of the
+     * commands before it may already be executed.
+     *
+     * <p>Clients created by {@link DornaClientFactory} stream only the files which are compressed
+     * or not smaller than {@link DornaClientConfig.Builder#streamedPlayThreshold(long)}, other
+     * files are compiled whole and cached. Default implementation waits for {@link
+     * #playAsync(Path)}.
      *
      * @see #play(List)
      */
     default void play(Path script) throws DornaClientException {
         try {
-            play(Files.readAllLines(script));
-        } catch (DornaClientException | IOException e) {
+            playAsync(script).get();
+        } catch (InterruptedException | ExecutionException e) {
             throw new DornaClientException(e);
         }
     }
 
+    /** Asynchronous version of {@link #play(Path)} */
+    CompletableFuture<Void> playAsync(Path script);
+
+    /**
+     * Parse and validate the script so that it can be played many times with {@link
+     * #play(CompiledScript)}.
+     *
+     * <p>This is offline operation.
+     *
+     * @see CompiledScript#compile(List, DornaRobotModel)
+     */
+    default CompiledScript compile(List<String> script) throws DornaClientException {
+        return CompiledScript.compile(script, model());
+    }
+
+    /**
+     * Play the script which was compiled earlier.
+     *
+     * @see #play(List)
+     */
+    void play(CompiledScript script) throws DornaClientException;
+
+    /**
+     * Asynchronous version of {@link #play(CompiledScript)}
+     *
+     * @return future which is completed when all commands of the script are completed
+     */
+    CompletableFuture<Void> playAsync(CompiledScript script);
+
+    /** Asynchronous version of {@link #play(List)} */
+    CompletableFuture<Void> playAsync(List<String> script);
+
     /**
      * @param script multi-line string with one command per line. Each command must be in JSON
      *     format.
@@ -127,13 +364,18 @@ public interface DornaClient extends AutoCloseable {
     /**
      * Play the script
      *
-     * <p>Send commands one by one to the Dorna Command Server. Each command is send only when
-     * previous command is completed. If any of the commands fails then play stops and {@link
+     * <p>Send commands one by one to the Dorna Command Server. By default each command is send only
+     * when previous command is completed (see {@link DornaClientConfig.Builder#playWindow(int)}).
+     * If any of the commands fails then play stops sending new commands and {@link
      * DornaClientException} is thrown.
      *
      * <p>If any of the command has "id" field set then there is no guarantee that it will be
      * preserved. It can be replaced with a client managed id.
      *
+     * <p>Scripts are compiled before they are played (see {@link CompiledScript}). Recently played
+     * scripts are cached so playing same script again does not require compiling it (see {@link
+     * DornaClientConfig.Builder#scriptCacheSize(int)}).
+     *
      * @param script list of commands in JSON format. Example with text-block:
      *     <pre>{@code
      * """
@@ -144,6 +386,28 @@ public interface DornaClient extends AutoCloseable {
      */
     void play(List<String> script) throws DornaClientException;
 
+    /**
+     * Move the arm through all points of the trajectory in one smooth motion.
+     *
+     * <p>Each point is sent as absolute continuous "jmove" command with velocity, acceleration and
+     * jerk from {@link DornaClientConfig}. Client keeps a bounded number of points queued on the
+     * Command Server (see {@link DornaClientConfig.Builder#streamLookahead(int)}) and takes next
+     * point from the trajectory only when one of them is completed. This way trajectory is consumed
+     * at the pace of the robot.
+     *
+     * <p>Points are checked against the joint limits right before they are sent. If any of the
+     * points is out of limits or any of the commands fails, no more points are sent and {@link
+     * DornaClientException} is thrown.
+     *
+     * @param trajectory is accessed by one thread at a time, but not necessarily by the same
+     *     thread. Its methods should not block for long, otherwise the robot may run out of queued
+     *     points and stop.
+     */
+    void stream(Iterator<Joints> trajectory) throws DornaClientException;
+
+    /** Asynchronous version of {@link #stream(Iterator)} */
+    CompletableFuture<Void> streamAsync(Iterator<Joints> trajectory);
+
     /**
      * Home all joints of the Dorna arm.
      *
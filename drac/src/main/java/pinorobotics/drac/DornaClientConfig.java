@@ -17,8 +17,13 @@
  */
 package pinorobotics.drac;
 
+import id.xfunction.Preconditions;
 import java.net.URI;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import pinorobotics.drac.impl.annotations.DornaDocReference;
 
@@ -33,13 +38,106 @@ public record DornaClientConfig(
         double velocity,
         double acceleration,
         double jerk,
-        boolean noop) {
+        boolean noop,
+        int motionHistoryCapacity,
+        int scriptCacheSize,
+        int playWindow,
+        long streamedPlayThreshold,
+        int streamLookahead,
+        Duration commandTimeout,
+        Map<String, Duration> commandTimeouts,
+        int receiveWindow,
+        boolean reconnect,
+        Duration minReconnectDelay,
+        Duration maxReconnectDelay,
+        Map<String, RecoveryPolicy> recoveryPolicies,
+        Optional<String> armName) {
+
+    /**
+     * Configuration where all options which are not given have their default values (see {@link
+     * Builder}).
+     *
+     * <p>Kept for compatibility with the code written before other options were added, new code
+     * should use {@link Builder}.
+     */
+    public DornaClientConfig(
+            URI dornaUrl,
+            DornaRobotModel model,
+            Optional<Path> outputLog,
+            boolean confirmMotorTurnOff,
+            double velocity,
+            double acceleration,
+            double jerk,
+            boolean noop) {
+        this(
+                dornaUrl,
+                model,
+                outputLog,
+                confirmMotorTurnOff,
+                velocity,
+                acceleration,
+                jerk,
+                noop,
+                Builder.DEFAULT_MOTION_HISTORY_CAPACITY,
+                Builder.DEFAULT_SCRIPT_CACHE_SIZE,
+                Builder.DEFAULT_PLAY_WINDOW,
+                Builder.DEFAULT_STREAMED_PLAY_THRESHOLD,
+                Builder.DEFAULT_STREAM_LOOKAHEAD,
+                Builder.DEFAULT_COMMAND_TIMEOUT,
+                Map.of(),
+                Builder.DEFAULT_RECEIVE_WINDOW,
+                true,
+                Builder.DEFAULT_MIN_RECONNECT_DELAY,
+                Builder.DEFAULT_MAX_RECONNECT_DELAY,
+                Builder.DEFAULT_RECOVERY_POLICIES,
+                Optional.empty());
+    }
+
+    /**
+     * Timeout for the given command type (see {@link CommandType}) or {@link Duration#ZERO} if
+     * command does not have a timeout
+     */
+    public Duration commandTimeout(String command) {
+        return commandTimeouts.getOrDefault(command, commandTimeout);
+    }
+
+    /**
+     * Recovery policy of the given command type (see {@link CommandType}), commands which do not
+     * have any policy are failed
+     */
+    public RecoveryPolicy recoveryPolicy(String command) {
+        return recoveryPolicies.getOrDefault(command, RecoveryPolicy.FAIL);
+    }
 
     public static class Builder {
 
         public static final double DEFAULT_VELOCITY = 25;
         public static final double DEFAULT_ACCEL = 500;
         public static final double DEFAULT_JERK = 2500;
+        public static final int DEFAULT_MOTION_HISTORY_CAPACITY = 1000;
+        public static final int DEFAULT_SCRIPT_CACHE_SIZE = 16;
+        public static final int DEFAULT_PLAY_WINDOW = 1;
+        public static final long DEFAULT_STREAMED_PLAY_THRESHOLD = 16 * 1024 * 1024;
+        public static final int DEFAULT_STREAM_LOOKAHEAD = 8;
+        public static final Duration DEFAULT_COMMAND_TIMEOUT = Duration.ZERO;
+        public static final int DEFAULT_RECEIVE_WINDOW = 64;
+        public static final Duration DEFAULT_MIN_RECONNECT_DELAY = Duration.ofMillis(100);
+        public static final Duration DEFAULT_MAX_RECONNECT_DELAY = Duration.ofSeconds(10);
+
+        /**
+         * Commands which are resent when connection is restored. Besides read-only {@link
+         * CommandType#VERSION} and {@link CommandType#HALT}, which only stops the robot, it
+         * includes {@link CommandType#JOINT} and {@link CommandType#MOTOR}. They are not read-only
+         * but they set absolute values (joint encoders, motor on/off) so executing them twice
+         * leaves robot in the same state as executing them once. Motion commands are not resent
+         * since robot could have already executed them.
+         */
+        public static final Map<String, RecoveryPolicy> DEFAULT_RECOVERY_POLICIES =
+                Map.of(
+                        CommandType.VERSION, RecoveryPolicy.RESEND,
+                        CommandType.JOINT, RecoveryPolicy.RESEND,
+                        CommandType.MOTOR, RecoveryPolicy.RESEND,
+                        CommandType.HALT, RecoveryPolicy.RESEND);
 
         private URI dornaUrl;
         private Optional<Path> outputLog = Optional.empty();
@@ -49,6 +147,20 @@ public record DornaClientConfig(
         private double acceleration = DEFAULT_ACCEL;
         private double jerk = DEFAULT_JERK;
         private boolean noop;
+        private int motionHistoryCapacity = DEFAULT_MOTION_HISTORY_CAPACITY;
+        private int scriptCacheSize = DEFAULT_SCRIPT_CACHE_SIZE;
+        private int playWindow = DEFAULT_PLAY_WINDOW;
+        private long streamedPlayThreshold = DEFAULT_STREAMED_PLAY_THRESHOLD;
+        private int streamLookahead = DEFAULT_STREAM_LOOKAHEAD;
+        private Duration commandTimeout = DEFAULT_COMMAND_TIMEOUT;
+        private Map<String, Duration> commandTimeouts = new HashMap<>();
+        private int receiveWindow = DEFAULT_RECEIVE_WINDOW;
+        private boolean reconnect = true;
+        private Duration minReconnectDelay = DEFAULT_MIN_RECONNECT_DELAY;
+        private Duration maxReconnectDelay = DEFAULT_MAX_RECONNECT_DELAY;
+        private Map<String, RecoveryPolicy> recoveryPolicies =
+                new HashMap<>(DEFAULT_RECOVERY_POLICIES);
+        private Optional<String> armName = Optional.empty();
 
         public Builder(URI dornaUrl, DornaRobotModel model) {
             this.dornaUrl = dornaUrl;
@@ -130,6 +242,183 @@ public record DornaClientConfig(
             return this;
         }
 
+        /**
+         * Number of last motion messages to keep in the motion history (see {@link
+         * DornaClient#getMotionHistory(long, long, pinorobotics.drac.messages.MotionSamples)}).
+         * Value 0 disables the history.
+         *
+         * <p>Default {@link #DEFAULT_MOTION_HISTORY_CAPACITY}
+         */
+        public Builder motionHistoryCapacity(int motionHistoryCapacity) {
+            Preconditions.isTrue(
+                    motionHistoryCapacity == 0 || motionHistoryCapacity > 1,
+                    "Motion history should be disabled or hold at least 2 messages");
+            this.motionHistoryCapacity = motionHistoryCapacity;
+            return this;
+        }
+
+        /**
+         * Maximum number of compiled scripts which {@link DornaClient#play(List)} and {@link
+         * DornaClient#play(Path)} keep so that scripts which are played repeatedly are parsed and
+         * validated only once (see {@link CompiledScript}). Value 0 disables the cache.
+         *
+         * <p>Default {@link #DEFAULT_SCRIPT_CACHE_SIZE}
+         */
+        public Builder scriptCacheSize(int scriptCacheSize) {
+            Preconditions.isTrue(scriptCacheSize >= 0, "Script cache size should not be negative");
+            this.scriptCacheSize = scriptCacheSize;
+            return this;
+        }
+
+        /**
+         * Maximum number of script commands which {@link DornaClient#play(List)} keeps queued on
+         * the Command Server.
+         *
+         * <p>With window 1 each command is sent only when previous command is completed, so there
+         * is a network round trip between every two moves. Larger windows send next commands while
+         * previous ones are still executing which removes pauses between the moves.
+         *
+         * <p>Default {@link #DEFAULT_PLAY_WINDOW}
+         */
+        public Builder playWindow(int playWindow) {
+            Preconditions.isTrue(playWindow > 0, "Play window should be positive");
+            this.playWindow = playWindow;
+            return this;
+        }
+
+        /**
+         * Size of the script file in bytes starting from which {@link DornaClient#play(Path)} reads
+         * and sends its commands as it goes instead of compiling the whole script first. Such
+         * scripts start playing right away and take constant amount of memory regardless of their
+         * size, but they are not cached and their commands are validated only as they are read.
+         * Compressed (gzip) scripts are always streamed.
+         *
+         * <p>Default {@link #DEFAULT_STREAMED_PLAY_THRESHOLD}
+         */
+        public Builder streamedPlayThreshold(long streamedPlayThreshold) {
+            Preconditions.isTrue(
+                    streamedPlayThreshold >= 0, "Streamed play threshold should not be negative");
+            this.streamedPlayThreshold = streamedPlayThreshold;
+            return this;
+        }
+
+        /**
+         * Maximum number of trajectory points which {@link DornaClient#stream(java.util.Iterator)}
+         * keeps queued on the Command Server.
+         *
+         * <p>Larger lookahead tolerates bigger delays in the network and in the trajectory
+         * producer, but the robot also takes longer to react when the trajectory changes.
+         *
+         * <p>Default {@link #DEFAULT_STREAM_LOOKAHEAD}
+         */
+        public Builder streamLookahead(int streamLookahead) {
+            Preconditions.isTrue(streamLookahead > 0, "Stream lookahead should be positive");
+            this.streamLookahead = streamLookahead;
+            return this;
+        }
+
+        /**
+         * Maximum time for the Command Server to complete any command. Commands which are not
+         * completed within their timeout fail with {@link
+         * pinorobotics.drac.exceptions.CommandTimeoutException}. {@link Duration#ZERO} disables the
+         * timeout.
+         *
+         * <p>Motion commands are completed only when robot finishes the motion, so their timeout
+         * should take into account duration of the longest motion.
+         *
+         * <p>Default {@link #DEFAULT_COMMAND_TIMEOUT}
+         */
+        public Builder commandTimeout(Duration commandTimeout) {
+            Preconditions.isTrue(
+                    !commandTimeout.isNegative(), "Command timeout should not be negative");
+            this.commandTimeout = commandTimeout;
+            return this;
+        }
+
+        /**
+         * Timeout for the commands of the given type (see {@link CommandType}) which overrides
+         * {@link #commandTimeout(Duration)}.
+         */
+        public Builder commandTimeout(String command, Duration commandTimeout) {
+            Preconditions.isTrue(
+                    !commandTimeout.isNegative(), "Command timeout should not be negative");
+            this.commandTimeouts.put(command, commandTimeout);
+            return this;
+        }
+
+        /**
+         * Maximum number of messages which Command Server connection is allowed to receive ahead of
+         * their processing.
+         *
+         * <p>Instead of asking for the next message only after the previous one is processed,
+         * client asks for the whole window of messages and replenishes it once half of it is
+         * received, so that incoming messages do not wait for the demand (see {@link
+         * pinorobotics.drac.metrics.DracMetrics#RECEIVE_DEMAND_REMAINING_METRIC}).
+         *
+         * <p>Default {@link #DEFAULT_RECEIVE_WINDOW}
+         */
+        public Builder receiveWindow(int receiveWindow) {
+            Preconditions.isTrue(receiveWindow > 0, "Receive window should be positive");
+            this.receiveWindow = receiveWindow;
+            return this;
+        }
+
+        /**
+         * Restore connection to the Command Server automatically when it is lost. Default is true.
+         *
+         * <p>Commands which were not completed when connection was lost are resent or failed
+         * according to their {@link #recoveryPolicy(String, RecoveryPolicy)}. When reconnect is
+         * disabled all such commands are failed.
+         *
+         * @see #reconnectDelay(Duration, Duration)
+         */
+        public Builder reconnect(boolean reconnect) {
+            this.reconnect = reconnect;
+            return this;
+        }
+
+        /**
+         * Delay between reconnect attempts. It starts from minDelay and doubles after each failed
+         * attempt until it reaches maxDelay. Half of the delay is random so that multiple clients
+         * which lost connection at the same time do not reconnect all at once.
+         *
+         * <p>Default {@link #DEFAULT_MIN_RECONNECT_DELAY}, {@link #DEFAULT_MAX_RECONNECT_DELAY}
+         */
+        public Builder reconnectDelay(Duration minDelay, Duration maxDelay) {
+            Preconditions.isTrue(minDelay.isPositive(), "Reconnect delay should be positive");
+            Preconditions.isTrue(
+                    minDelay.compareTo(maxDelay) <= 0,
+                    "Minimum reconnect delay should not exceed maximum");
+            this.minReconnectDelay = minDelay;
+            this.maxReconnectDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * What to do with the commands of the given type (see {@link CommandType}) which were not
+         * completed when connection to the Command Server was lost.
+         *
+         * <p>Default {@link #DEFAULT_RECOVERY_POLICIES}, commands which are not listed there are
+         * failed
+         */
+        public Builder recoveryPolicy(String command, RecoveryPolicy policy) {
+            this.recoveryPolicies.put(command, policy);
+            return this;
+        }
+
+        /**
+         * Name of the Dorna arm to which client connects. When present, it is added to all client
+         * metrics as {@link pinorobotics.drac.metrics.DracMetrics#ARM_ATTRIBUTE} so that metrics of
+         * multiple arms which are controlled from the same process can be told apart.
+         *
+         * @see DornaFleet
+         */
+        public Builder armName(String armName) {
+            Preconditions.isTrue(!armName.isBlank(), "Arm name should not be blank");
+            this.armName = Optional.of(armName);
+            return this;
+        }
+
         public DornaClientConfig build() {
             return new DornaClientConfig(
                     dornaUrl,
@@ -139,7 +428,20 @@ public record DornaClientConfig(
                     velocity,
                     acceleration,
                     jerk,
-                    noop);
+                    noop,
+                    motionHistoryCapacity,
+                    scriptCacheSize,
+                    playWindow,
+                    streamedPlayThreshold,
+                    streamLookahead,
+                    commandTimeout,
+                    Map.copyOf(commandTimeouts),
+                    receiveWindow,
+                    reconnect,
+                    minReconnectDelay,
+                    maxReconnectDelay,
+                    Map.copyOf(recoveryPolicies),
+                    armName);
         }
     }
 }
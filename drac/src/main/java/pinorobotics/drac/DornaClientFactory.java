@@ -18,16 +18,44 @@
 package pinorobotics.drac;
 
 import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import pinorobotics.drac.impl.DornaClientImpl;
 import pinorobotics.drac.impl.DornaClientNoop;
+import pinorobotics.drac.impl.DracSocketFactory;
+import pinorobotics.drac.impl.SharedHttpClient;
 
 /**
  * Factory class for {@link DornaClient}
  *
+ * <p>All clients created by the factory share same {@link java.net.http.HttpClient} together with
+ * its selector thread and executor. It is created when first client connects to the Command Server
+ * and shut down when the last client is closed.
+ *
  * @author lambdaprime intid@protonmail.com
  */
 public class DornaClientFactory {
 
+    private final SharedHttpClient httpClient;
+
+    /**
+     * Factory which uses default {@link java.net.http.HttpClient} executor. Clients of all such
+     * factories share the same {@link java.net.http.HttpClient}.
+     */
+    public DornaClientFactory() {
+        httpClient = SharedHttpClient.getDefault();
+    }
+
+    /**
+     * Factory which runs {@link java.net.http.HttpClient} tasks of all its clients using the given
+     * executor (for example {@link
+     * java.util.concurrent.Executors#newVirtualThreadPerTaskExecutor()} when there are many Dorna
+     * arms). Executor is owned by the caller and is not closed by the factory.
+     */
+    public DornaClientFactory(Executor executor) {
+        httpClient = new SharedHttpClient(Optional.of(executor));
+    }
+
     /**
      * Create client to Dorna2 Black (for other models use {@link #createClient(DornaClientConfig)}
      * with explicit {@link DornaRobotModel})
@@ -41,6 +69,9 @@ public class DornaClientFactory {
 
     /** Create Dorna client with given configuration */
     public DornaClient createClient(DornaClientConfig config) {
-        return config.noop() ? new DornaClientNoop(config) : new DornaClientImpl(config);
+        return config.noop()
+                ? new DornaClientNoop(config)
+                : new DornaClientImpl(
+                        config, new DracSocketFactory(config.receiveWindow(), httpClient));
     }
 }
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac;
+
+import id.xfunction.Preconditions;
+import id.xfunction.logging.XLogger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import pinorobotics.drac.exceptions.DornaClientException;
+import pinorobotics.drac.exceptions.DornaFleetException;
+import pinorobotics.drac.impl.MotionSkew;
+
+/**
+ * Group of Dorna arms which are controlled from the same process.
+ *
+ * <p>Clients of all arms are created by the same {@link DornaClientFactory} so they share its
+ * transport resources. Each arm is identified by its name (see {@link
+ * DornaClientConfig.Builder#armName(String)}) which is also attached to all metrics of its client.
+ *
+ * <p>Fleet operations are issued to all arms at once and complete when the slowest arm completes
+ * them. If operation fails on any of the arms, it is still awaited on all other arms and then
+ * {@link DornaFleetException} is thrown with errors of each failed arm.
+ *
+ * {@snippet lang="java" :
+ * var configs =
+ *         List.of(
+ *                 new DornaClientConfig.Builder(URI.create("ws://dorna1:443"), model)
+ *                         .armName("left")
+ *                         .build(),
+ *                 new DornaClientConfig.Builder(URI.create("ws://dorna2:443"), model)
+ *                         .armName("right")
+ *                         .build());
+ * try (var fleet = DornaFleet.open(new DornaClientFactory(), configs)) {
+ *     fleet.motorAll(true);
+ *     fleet.homeAll();
+ *     fleet.getClient("left").jmove(position, false);
+ * }
+ * }
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class DornaFleet implements AutoCloseable {
+    private static final XLogger LOGGER = XLogger.getLogger(DornaFleet.class);
+
+    private final Map<String, DornaClient> clients;
+
+    private DornaFleet(Map<String, DornaClient> clients) {
+        this.clients = Collections.unmodifiableMap(clients);
+    }
+
+    /**
+     * Create clients for all arms and connect them to their Command Servers in parallel.
+     *
+     * @param configs configurations of the arms, each of them should have unique arm name
+     * @throws DornaFleetException if any of the arms failed to connect, in that case all clients
+     *     are closed
+     */
+    public static DornaFleet open(DornaClientFactory factory, List<DornaClientConfig> configs)
+            throws DornaClientException {
+        var clients = new LinkedHashMap<String, DornaClient>();
+        for (var config : configs) {
+            Preconditions.isTrue(config.armName().isPresent(), "Arm name is missing");
+            var name = config.armName().get();
+            Preconditions.isTrue(!clients.containsKey(name), "Duplicate arm name " + name);
+            clients.put(name, factory.createClient(config));
+        }
+        var fleet = new DornaFleet(clients);
+        LOGGER.fine("Connecting to {0} arms", clients.size());
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            fleet.await(
+                    fleet.executeAsync(
+                            client -> CompletableFuture.runAsync(client::connect, executor)),
+                    "Connection failed");
+        } catch (DornaClientException e) {
+            fleet.close();
+            throw e;
+        }
+        return fleet;
+    }
+
+    /**
+     * @return names of all arms in the order they were configured
+     */
+    public Set<String> getArmNames() {
+        return clients.keySet();
+    }
+
+    /**
+     * @return client of the arm with the given name, it should not be closed by the caller
+     */
+    public DornaClient getClient(String armName) {
+        var client = clients.get(armName);
+        Preconditions.isTrue(client != null, "Unknown arm " + armName);
+        return client;
+    }
+
+    /**
+     * @return connection state of each arm
+     */
+    public Map<String, ConnectionState> getConnectionStates() {
+        var states = new LinkedHashMap<String, ConnectionState>();
+        clients.forEach((name, client) -> states.put(name, client.getConnectionState()));
+        return states;
+    }
+
+    /**
+     * Issue operation to all arms without waiting for any of them.
+     *
+     * <p>Returned future is completed once operation is completed on all arms. It is completed with
+     * results of each arm or with {@link DornaFleetException} if any of the arms failed.
+     *
+     * @param operation is called sequentially for each arm from the current thread and should
+     *     return without waiting for the operation to complete (for example {@link
+     *     DornaClient#jmoveAsync(Joints, boolean)})
+     */
+    public <T> CompletableFuture<Map<String, T>> executeAsync(
+            Function<DornaClient, CompletableFuture<T>> operation) {
+        return executeAsync((name, client) -> operation.apply(client));
+    }
+
+    private <T> CompletableFuture<Map<String, T>> executeAsync(
+            BiFunction<String, DornaClient, CompletableFuture<T>> operation) {
+        var futures = new LinkedHashMap<String, CompletableFuture<T>>();
+        clients.forEach(
+                (name, client) -> {
+                    CompletableFuture<T> future;
+                    try {
+                        future = operation.apply(name, client);
+                    } catch (Exception e) {
+                        future = CompletableFuture.failedFuture(e);
+                    }
+                    futures.put(name, future);
+                });
+        return CompletableFuture.allOf(
+                        futures.values().stream()
+                                .map(future -> future.handle((r, e) -> null))
+                                .toArray(CompletableFuture[]::new))
+                .thenApply(
+                        v -> {
+                            var results = new LinkedHashMap<String, T>();
+                            var failures = new HashMap<String, Throwable>();
+                            futures.forEach(
+                                    (name, future) -> {
+                                        try {
+                                            results.put(name, future.join());
+                                        } catch (CompletionException e) {
+                                            failures.put(name, e.getCause());
+                                        } catch (Exception e) {
+                                            failures.put(name, e);
+                                        }
+                                    });
+                            if (!failures.isEmpty())
+                                throw new DornaFleetException("Operation failed", failures);
+                            return results;
+                        });
+    }
+
+    /**
+     * @return Command Server version of each arm
+     * @see DornaClient#version()
+     */
+    public Map<String, Integer> versionAll() throws DornaClientException {
+        return await(versionAllAsync(), "Version failed");
+    }
+
+    /** Asynchronous version of {@link #versionAll()} */
+    public CompletableFuture<Map<String, Integer>> versionAllAsync() {
+        return executeAsync(DornaClient::versionAsync);
+    }
+
+    /**
+     * Move all arms to their home positions (see {@link DornaRobotModel#home()})
+     *
+     * @see DornaClient#jmove(Joints, boolean)
+     */
+    public void homeAll() throws DornaClientException {
+        await(homeAllAsync(), "Home failed");
+    }
+
+    /** Asynchronous version of {@link #homeAll()} */
+    public CompletableFuture<Void> homeAllAsync() {
+        return executeAsync(client -> client.jmoveAsync(client.model().home(), false))
+                .thenApply(r -> null);
+    }
+
+    /**
+     * Turn motors of all arms on or off.
+     *
+     * <p>If user confirmation is required before turning off the motor (see {@link
+     * DornaClientConfig.Builder#confirmMotorShutOff(boolean)}) then it is requested for each arm
+     * one by one before any of the commands are sent.
+     *
+     * @see DornaClient#motor(boolean)
+     */
+    public void motorAll(boolean isOn) throws DornaClientException {
+        await(motorAllAsync(isOn), "Motor failed");
+    }
+
+    /** Asynchronous version of {@link #motorAll(boolean)} */
+    public CompletableFuture<Void> motorAllAsync(boolean isOn) {
+        return executeAsync(client -> client.motorAsync(isOn)).thenApply(r -> null);
+    }
+
+    /**
+     * Play scripts on all arms so that each of their segments is started at the same time.
+     *
+     * <p>Scripts are split into segments by {@link CommandType#SYNC} markers (see {@link
+     * CompiledScript}) and all of them should have the same number of segments. Segment is released
+     * to all arms together, only after every arm completed the previous one. Commands of the
+     * segment are played by each arm same way as {@link DornaClient#play(CompiledScript)} does.
+     *
+     * <p>If any of the arms fails to complete the segment, other arms still complete it but next
+     * segments are not released.
+     *
+     * <p>For each segment time between the first and the last arm started moving is recorded into
+     * {@link pinorobotics.drac.metrics.DracMetrics#SYNC_SKEW_METRIC}. Start of the movement is
+     * detected by waiting for each arm to move away from the pose it had at the release (see {@link
+     * DornaClient#awaitMotionAsync(java.util.function.Predicate, java.time.Duration)}). Segments
+     * where some of the arms did not move are logged and not recorded.
+     *
+     * @param scripts script of each arm by its name, all arms of the fleet should be present
+     */
+    public void playSynchronized(Map<String, CompiledScript> scripts) throws DornaClientException {
+        await(playSynchronizedAsync(scripts), "Synchronized play failed");
+    }
+
+    /** Asynchronous version of {@link #playSynchronized(Map)} */
+    public CompletableFuture<Void> playSynchronizedAsync(Map<String, CompiledScript> scripts) {
+        Preconditions.equals(clients.keySet(), scripts.keySet(), "Scripts do not match the arms");
+        var segmentCount = scripts.values().iterator().next().segmentCount();
+        var segments = new HashMap<String, CompiledScript[]>();
+        scripts.forEach(
+                (name, script) -> {
+                    Preconditions.equals(
+                            segmentCount,
+                            script.segmentCount(),
+                            "Number of segments in the script of arm " + name);
+                    var armSegments = new CompiledScript[segmentCount];
+                    for (int i = 0; i < segmentCount; i++) armSegments[i] = script.segment(i);
+                    segments.put(name, armSegments);
+                });
+        return playSegment(segments, 0);
+    }
+
+    private CompletableFuture<Void> playSegment(
+            Map<String, CompiledScript[]> segments, int segment) {
+        if (segment == segments.values().iterator().next().length)
+            return CompletableFuture.completedFuture(null);
+        LOGGER.fine("Releasing segment {0}", segment);
+        var skew = new MotionSkew(clients);
+        return executeAsync((name, client) -> client.playAsync(segments.get(name)[segment]))
+                .whenComplete(
+                        (r, e) -> {
+                            skew.stop();
+                            if (e != null)
+                                LOGGER.warning("Synchronized play failed at segment {0}", segment);
+                        })
+                .thenCompose(r -> playSegment(segments, segment + 1));
+    }
+
+    private <T> T await(CompletableFuture<T> future, String message) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof DornaFleetException fleetException)
+                throw new DornaFleetException(message, fleetException.getFailures());
+            throw new DornaClientException(e);
+        }
+    }
+
+    /** Close clients of all arms */
+    @Override
+    public void close() {
+        var failures = new HashMap<String, Throwable>();
+        clients.forEach(
+                (name, client) -> {
+                    try {
+                        client.close();
+                    } catch (Exception e) {
+                        failures.put(name, e);
+                    }
+                });
+        if (!failures.isEmpty()) throw new DornaFleetException("Close failed", failures);
+    }
+}
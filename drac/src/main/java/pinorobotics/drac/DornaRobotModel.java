@@ -17,13 +17,44 @@
  */
 package pinorobotics.drac;
 
+import id.xfunction.Preconditions;
+import java.util.stream.DoubleStream;
 import pinorobotics.drac.impl.annotations.DornaDocReference;
 
 /**
+ * @param jointTolerance maximum deviation (in degrees) of each joint which is allowed when
+ *     trajectory is simplified (see {@link pinorobotics.drac.trajectory.TrajectorySimplifier})
  * @author lambdaprime intid@protonmail.com
  */
 public record DornaRobotModel(
-        String modelName, double[] lowerLimit, double[] upperLimit, Joints home) {
+        String modelName,
+        double[] lowerLimit,
+        double[] upperLimit,
+        Joints home,
+        double[] jointTolerance) {
+
+    /** Default tolerance of each joint in degrees */
+    public static final double DEFAULT_JOINT_TOLERANCE = 0.05;
+
+    public DornaRobotModel {
+        Preconditions.equals(
+                lowerLimit.length, jointTolerance.length, "Mismatch in number of joints");
+        for (var tolerance : jointTolerance)
+            Preconditions.isTrue(tolerance > 0, "Joint tolerance should be positive");
+    }
+
+    /** Model where all joints have {@link #DEFAULT_JOINT_TOLERANCE} */
+    public DornaRobotModel(
+            String modelName, double[] lowerLimit, double[] upperLimit, Joints home) {
+        this(
+                modelName,
+                lowerLimit,
+                upperLimit,
+                home,
+                DoubleStream.generate(() -> DEFAULT_JOINT_TOLERANCE)
+                        .limit(lowerLimit.length)
+                        .toArray());
+    }
 
     @DornaDocReference(
             name = "Dorna Robot User Manual",
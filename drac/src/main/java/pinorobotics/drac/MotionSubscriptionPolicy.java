@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac;
+
+import id.xfunction.Preconditions;
+import java.time.Duration;
+
+/**
+ * Defines how motion messages are delivered to the subscriber when it consumes them slower than
+ * they are received from the Command Server.
+ *
+ * <p>Regardless of the policy, slow subscribers never block the thread which receives messages from
+ * the Command Server or other subscribers.
+ *
+ * @see DornaClient#getMotionPublisher(MotionSubscriptionPolicy)
+ * @author lambdaprime intid@protonmail.com
+ */
+public record MotionSubscriptionPolicy(Type type, int bufferSize, Duration period) {
+
+    public enum Type {
+        /** Deliver every motion message */
+        ALL,
+
+        /** Deliver only the latest motion message, older ones are dropped */
+        LATEST,
+
+        /** Deliver latest motion message not more often than once per period */
+        SAMPLED
+    }
+
+    /**
+     * Deliver every motion message.
+     *
+     * <p>Messages which were not yet requested by the subscriber are buffered. If buffer overflows
+     * then subscription fails with {@link pinorobotics.drac.exceptions.DornaClientException}.
+     *
+     * @param bufferSize maximum number of messages to buffer
+     */
+    public static MotionSubscriptionPolicy all(int bufferSize) {
+        Preconditions.isTrue(bufferSize > 0, "Buffer size should be positive");
+        return new MotionSubscriptionPolicy(Type.ALL, bufferSize, Duration.ZERO);
+    }
+
+    /** Deliver only the latest motion message available when subscriber requests it */
+    public static MotionSubscriptionPolicy latest() {
+        return new MotionSubscriptionPolicy(Type.LATEST, 1, Duration.ZERO);
+    }
+
+    /**
+     * Deliver latest motion message not more often than once per given period. Messages received
+     * within the period after the last accepted one are dropped.
+     */
+    public static MotionSubscriptionPolicy sampled(Duration period) {
+        Preconditions.isTrue(!period.isNegative() && !period.isZero(), "Period should be positive");
+        return new MotionSubscriptionPolicy(Type.SAMPLED, 1, period);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac;
+
+/**
+ * Defines what happens to the command which was sent to the Command Server but was not completed
+ * when connection to it was lost.
+ *
+ * <p>There is no way to know whether such command was received and executed by the Command Server
+ * before the connection was lost. Commands which are safe to execute more than once (idempotent)
+ * can be resent once connection is restored, others should be failed and left to the user to
+ * decide.
+ *
+ * <p>Commands which were not sent yet are always sent once connection is restored.
+ *
+ * @see DornaClientConfig.Builder#recoveryPolicy(String, RecoveryPolicy)
+ * @author lambdaprime intid@protonmail.com
+ */
+public enum RecoveryPolicy {
+    /** Send the command again (with the same id) once connection is restored */
+    RESEND,
+
+    /**
+     * Fail the command with {@link pinorobotics.drac.exceptions.ConnectionLostException} as soon as
+     * connection is lost
+     */
+    FAIL
+}
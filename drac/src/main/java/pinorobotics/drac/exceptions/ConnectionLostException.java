@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.exceptions;
+
+/**
+ * Connection to the Command Server was lost before the command was completed.
+ *
+ * @see pinorobotics.drac.RecoveryPolicy
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ConnectionLostException extends DornaClientException {
+
+    public ConnectionLostException(String message) {
+        super(message);
+    }
+}
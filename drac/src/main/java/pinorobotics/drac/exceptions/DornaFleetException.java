@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.exceptions;
+
+import java.util.Map;
+
+/**
+ * Operation failed on some of the arms of the {@link pinorobotics.drac.DornaFleet}.
+ *
+ * <p>Errors of each arm are available through {@link #getFailures()} and are also added as
+ * suppressed exceptions.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class DornaFleetException extends DornaClientException {
+
+    private final Map<String, Throwable> failures;
+
+    /**
+     * @param failures errors by arm name
+     */
+    public DornaFleetException(String message, Map<String, Throwable> failures) {
+        super(message + ": " + failures.keySet());
+        this.failures = Map.copyOf(failures);
+        failures.values().forEach(this::addSuppressed);
+    }
+
+    /**
+     * @return errors by arm name
+     */
+    public Map<String, Throwable> getFailures() {
+        return failures;
+    }
+}
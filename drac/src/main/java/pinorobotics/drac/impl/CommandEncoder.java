@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import java.util.Locale;
+import pinorobotics.drac.CommandType;
+import pinorobotics.drac.CompiledScript;
+import pinorobotics.drac.Joints;
+
+/**
+ * Encodes commands into JSON reusing same buffer between the calls.
+ *
+ * <p>Numbers are formatted exactly as {@code String.format(Locale.ROOT, "%f", value)} would do it
+ * so that encoded commands stay the same as in existing recordings and DornaLab scripts.
+ *
+ * <p>Returned command is valid only until the next call to the encoder. This class is not
+ * thread-safe, use {@link #get()} to obtain encoder for the current thread.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class CommandEncoder {
+    private static final ThreadLocal<CommandEncoder> ENCODERS =
+            ThreadLocal.withInitial(CommandEncoder::new);
+
+    /** Numbers below this limit are formatted without {@link java.util.Formatter} */
+    private static final double FAST_PATH_LIMIT = 1e6;
+
+    private static final double SCALE = 1e6;
+
+    /**
+     * When fractional part of scaled number is closer than this to 0.5 then rounding may depend on
+     * the digits which are lost in the double arithmetic and the slow path is used
+     */
+    private static final double ROUNDING_GUARD = 1e-3;
+
+    private final StringBuilder buf = new StringBuilder(256);
+
+    /** Encoder of the current thread */
+    public static CommandEncoder get() {
+        return ENCODERS.get();
+    }
+
+    public CharSequence version() {
+        buf.setLength(0);
+        buf.append("{\"cmd\":\"").append(CommandType.VERSION).append("\"}");
+        return buf;
+    }
+
+    public CharSequence joint(int id, Joints joints) {
+        buf.setLength(0);
+        buf.append("{\"cmd\":\"").append(CommandType.JOINT).append("\",\"id\":").append(id);
+        appendJoints(joints);
+        buf.append('}');
+        return buf;
+    }
+
+    /**
+     * @param id command id or -1 if command should be sent without id
+     */
+    public CharSequence jmove(
+            int id,
+            Joints joints,
+            boolean isRelative,
+            boolean isContinuous,
+            double velocity,
+            double acceleration,
+            double jerk) {
+        buf.setLength(0);
+        buf.append("{\"cmd\":\"").append(CommandType.JMOVE).append('"');
+        if (id != -1) buf.append(",\"id\":").append(id);
+        appendJoints(joints);
+        buf.append(",\"rel\":").append(isRelative ? 1 : 0);
+        buf.append(",\"vel\":");
+        appendDouble(buf, velocity);
+        buf.append(",\"accel\":");
+        appendDouble(buf, acceleration);
+        buf.append(",\"jerk\":");
+        appendDouble(buf, jerk);
+        buf.append(",\"cont\":").append(isContinuous ? 1 : 0);
+        buf.append('}');
+        return buf;
+    }
+
+    public CharSequence motor(int id, int value) {
+        buf.setLength(0);
+        buf.append("{\"cmd\":\"").append(CommandType.MOTOR).append("\",\"id\":").append(id);
+        buf.append(",\"motor\":").append(value).append('}');
+        return buf;
+    }
+
+    public CharSequence halt(int id) {
+        buf.setLength(0);
+        buf.append("{\"cmd\":\"").append(CommandType.HALT).append("\",\"id\":").append(id);
+        buf.append('}');
+        return buf;
+    }
+
+    /** Command from the compiled script with the given id */
+    public CharSequence script(CompiledScript script, int index, int id) {
+        buf.setLength(0);
+        script.appendCommand(index, id, buf);
+        return buf;
+    }
+
+    private void appendJoints(Joints joints) {
+        buf.append(",\"j0\":");
+        appendDouble(buf, joints.j0());
+        buf.append(",\"j1\":");
+        appendDouble(buf, joints.j1());
+        buf.append(",\"j2\":");
+        appendDouble(buf, joints.j2());
+        buf.append(",\"j3\":");
+        appendDouble(buf, joints.j3());
+        buf.append(",\"j4\":");
+        appendDouble(buf, joints.j4());
+        buf.append(",\"j5\":");
+        appendDouble(buf, joints.j5());
+        buf.append(",\"j6\":");
+        appendDouble(buf, joints.j6());
+        buf.append(",\"j7\":");
+        appendDouble(buf, joints.j7());
+    }
+
+    /**
+     * Append value with 6 digits after the decimal point, same as {@code String.format(Locale.ROOT,
+     * "%f", value)}.
+     *
+     * <p>Joint angles, velocities etc. are small numbers so they are formatted using integer
+     * arithmetic without any allocations. Other values (large, NaN, infinite or those which are too
+     * close to the rounding boundary) are delegated to {@link java.util.Formatter}.
+     */
+    public static void appendDouble(StringBuilder out, double value) {
+        var abs = Math.abs(value);
+        if (!(abs < FAST_PATH_LIMIT)) {
+            appendFormatted(out, value);
+            return;
+        }
+        var scaled = abs * SCALE;
+        var digits = (long) scaled;
+        var fraction = scaled - digits;
+        if (Math.abs(fraction - 0.5) < ROUNDING_GUARD) {
+            appendFormatted(out, value);
+            return;
+        }
+        if (fraction > 0.5) digits++;
+        // same as Formatter, negative values keep their sign even if they are rounded to zero
+        if (Double.doubleToRawLongBits(value) < 0) out.append('-');
+        out.append(digits / 1_000_000).append('.');
+        var fractionDigits = (int) (digits % 1_000_000);
+        for (int d = 100_000; d > fractionDigits && d > 1; d /= 10) {
+            out.append('0');
+        }
+        out.append(fractionDigits);
+    }
+
+    private static void appendFormatted(StringBuilder out, double value) {
+        out.append(String.format(Locale.ROOT, "%f", value));
+    }
+}
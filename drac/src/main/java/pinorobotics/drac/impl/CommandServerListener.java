@@ -20,36 +20,117 @@ package pinorobotics.drac.impl;
 import static pinorobotics.drac.impl.MessageUtils.parse;
 
 import id.xfunction.logging.XLogger;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
 import java.net.http.WebSocket;
 import java.net.http.WebSocket.Listener;
 import java.util.concurrent.CompletionStage;
 import pinorobotics.drac.DornaClient;
+import pinorobotics.drac.DornaClientConfig;
+import pinorobotics.drac.metrics.DracMetrics;
 
 /**
  * @author lambdaprime intid@protonmail.com
  */
 public class CommandServerListener implements Listener {
     private static final XLogger LOGGER = XLogger.getLogger(DornaClient.class);
+    private static final Meter METER =
+            GlobalOpenTelemetry.getMeter(CommandServerListener.class.getSimpleName());
+    private static final LongCounter RECEIVE_DEMAND_REQUESTS_COUNT_METER =
+            METER.counterBuilder(DracMetrics.RECEIVE_DEMAND_REQUESTS_COUNT_METRIC)
+                    .setDescription(DracMetrics.RECEIVE_DEMAND_REQUESTS_COUNT_METRIC_DESCRIPTION)
+                    .build();
+    private static final LongHistogram RECEIVE_DEMAND_REMAINING_METER =
+            METER.histogramBuilder(DracMetrics.RECEIVE_DEMAND_REMAINING_METRIC)
+                    .setDescription(DracMetrics.RECEIVE_DEMAND_REMAINING_METRIC_DESCRIPTION)
+                    .ofLongs()
+                    .build();
 
     private StringBuilder buf = new StringBuilder();
     private MessageProcessor messageProc;
+    private MotionDecoder motionDecoder = new MotionDecoder();
+    private StatusDecoder statusDecoder = new StatusDecoder();
+    private double[] motionFields = new double[MotionFields.COUNT];
+    private final int receiveWindow;
+
+    /** Number of messages which were requested but not received yet */
+    private int demand;
 
     public CommandServerListener(MessageProcessor messageProc) {
+        this(messageProc, DornaClientConfig.Builder.DEFAULT_RECEIVE_WINDOW);
+    }
+
+    /**
+     * @param receiveWindow see {@link DornaClientConfig.Builder#receiveWindow(int)}
+     */
+    public CommandServerListener(MessageProcessor messageProc, int receiveWindow) {
         this.messageProc = messageProc;
+        this.receiveWindow = receiveWindow;
+    }
+
+    @Override
+    public void onOpen(WebSocket webSocket) {
+        demand = receiveWindow;
+        webSocket.request(receiveWindow);
     }
 
     @Override
     public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
-        buf.append(data);
         if (last) {
-            var jsonMessage = buf.toString();
+            // most of the messages arrive in one piece so we try to avoid copying them
+            CharSequence jsonMessage = data;
+            if (!buf.isEmpty()) {
+                buf.append(data);
+                jsonMessage = buf;
+            }
             LOGGER.fine("incoming message: {0}", jsonMessage);
-            parse(jsonMessage).ifPresent(messageProc::process);
-            buf = new StringBuilder();
+            if (motionDecoder.decode(jsonMessage, motionFields)) {
+                messageProc.processMotion(motionFields);
+            } else if (statusDecoder.decode(jsonMessage)) {
+                messageProc.processStatus(statusDecoder.id(), statusDecoder.status());
+            } else {
+                parse(jsonMessage.toString()).ifPresent(messageProc::process);
+            }
+            buf.setLength(0);
         } else {
+            buf.append(data);
             LOGGER.fine("incoming data: {0}", data);
         }
-        webSocket.request(1);
+        replenishDemand(webSocket);
         return null;
     }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+        messageProc.processConnectionLost(
+                webSocket,
+                "Connection closed by the Command Server with status "
+                        + statusCode
+                        + ": "
+                        + reason);
+        return null;
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+        LOGGER.severe("Connection error", error);
+        messageProc.processConnectionLost(webSocket, "Connection error: " + error.getMessage());
+    }
+
+    /**
+     * Demand is replenished from the listener itself once half of the window is consumed, so
+     * connection always has requested messages left and never waits for the client.
+     *
+     * <p>WebSocket invokes listener sequentially so demand does not need any synchronization
+     */
+    private void replenishDemand(WebSocket webSocket) {
+        demand--;
+        if (demand > receiveWindow / 2) return;
+        RECEIVE_DEMAND_REQUESTS_COUNT_METER.add(1);
+        RECEIVE_DEMAND_REMAINING_METER.record(demand);
+        webSocket.request(receiveWindow - demand);
+        demand = receiveWindow;
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import pinorobotics.drac.DornaClientConfig;
+import pinorobotics.drac.exceptions.CommandTimeoutException;
+import pinorobotics.drac.metrics.DracMetrics;
+
+/**
+ * Fails commands which are not completed within their timeouts.
+ *
+ * <p>Timed out command futures are completed with {@link CommandTimeoutException} which also
+ * removes them from {@link PendingCommands}.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class CommandTimeouts implements AutoCloseable {
+    private static final Meter METER =
+            GlobalOpenTelemetry.getMeter(CommandTimeouts.class.getSimpleName());
+    private static final LongCounter COMMAND_TIMEOUT_COUNT_METER =
+            METER.counterBuilder(DracMetrics.COMMAND_TIMEOUT_COUNT_METRIC)
+                    .setDescription(DracMetrics.COMMAND_TIMEOUT_COUNT_METRIC_DESCRIPTION)
+                    .build();
+    private static final Duration TICK = Duration.ofMillis(10);
+    private static final int WHEEL_SIZE = 512;
+
+    private final DornaClientConfig config;
+    private final TimingWheel wheel;
+    private final Attributes metricAttributes;
+
+    public CommandTimeouts(DornaClientConfig config) {
+        this.config = config;
+        metricAttributes = MetricAttributes.of(config);
+        wheel = new TimingWheel("drac-command-timeouts", TICK, WHEEL_SIZE);
+    }
+
+    /**
+     * Fail given future if it is not completed within the timeout of the command
+     *
+     * @param command command type (see {@link pinorobotics.drac.CommandType})
+     * @param id command id or -1 if command does not have an id
+     */
+    public <T> CompletableFuture<T> watch(CompletableFuture<T> future, String command, int id) {
+        var timeout = config.commandTimeout(command);
+        if (timeout.isZero()) return future;
+        var handle =
+                wheel.schedule(
+                        () -> {
+                            var isTimedOut =
+                                    future.completeExceptionally(
+                                            new CommandTimeoutException(
+                                                    "Command "
+                                                            + command
+                                                            + " with id "
+                                                            + id
+                                                            + " was not completed within "
+                                                            + timeout));
+                            if (isTimedOut) COMMAND_TIMEOUT_COUNT_METER.add(1, metricAttributes);
+                        },
+                        timeout);
+        future.whenComplete((r, e) -> handle.cancel());
+        return future;
+    }
+
+    @Override
+    public void close() {
+        wheel.close();
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import pinorobotics.drac.ConnectionState;
+import pinorobotics.drac.DornaClientConfig;
+import pinorobotics.drac.RecoveryPolicy;
+import pinorobotics.drac.exceptions.ConnectionLostException;
+import pinorobotics.drac.metrics.DracMetrics;
+
+/**
+ * Opens connection to the Command Server and restores it when it is lost.
+ *
+ * <p>Client keeps using the same {@link DracSocket} all the time. When connection is lost the
+ * socket is paused so that all queued and new commands wait until connection is restored. Commands
+ * which were already sent but not completed are resent or failed according to their {@link
+ * RecoveryPolicy}.
+ *
+ * <p>New connection creates new {@link CommandServerListener} which requests messages from the
+ * Command Server so that motion messages are streamed again.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ConnectionSupervisor implements AutoCloseable {
+    private static final XLogger LOGGER = XLogger.getLogger(ConnectionSupervisor.class);
+    private static final Meter METER =
+            GlobalOpenTelemetry.getMeter(ConnectionSupervisor.class.getSimpleName());
+    private static final LongCounter CONNECTION_STATE_COUNT_METER =
+            METER.counterBuilder(DracMetrics.CONNECTION_STATE_COUNT_METRIC)
+                    .setDescription(DracMetrics.CONNECTION_STATE_COUNT_METRIC_DESCRIPTION)
+                    .build();
+    private static final AttributeKey<String> STATE_ATTRIBUTE = AttributeKey.stringKey("state");
+
+    private final DornaClientConfig config;
+    private final DracSocketFactory socketFactory;
+    private final MessageProcessor messageProc;
+    private final Executor executor;
+    private final Attributes metricAttributes;
+    private final List<Consumer<ConnectionState>> listeners = new CopyOnWriteArrayList<>();
+    private volatile ConnectionState state = ConnectionState.DISCONNECTED;
+    private DracSocket socket;
+
+    /** Commands which were sent but not completed when connection was lost */
+    private List<PendingCommands.Command> resendCommands = List.of();
+
+    public ConnectionSupervisor(
+            DornaClientConfig config,
+            DracSocketFactory socketFactory,
+            MessageProcessor messageProc,
+            Executor executor) {
+        this.config = config;
+        this.socketFactory = socketFactory;
+        this.messageProc = messageProc;
+        this.executor = executor;
+        metricAttributes = MetricAttributes.of(config);
+        messageProc.setConnectionLostHandler(this::onConnectionLost);
+    }
+
+    /**
+     * Open connection to the Command Server
+     *
+     * <p>Connection factory stays acquired until supervisor is closed, so that it can be used to
+     * reconnect.
+     */
+    public synchronized DracSocket connect() {
+        setState(ConnectionState.CONNECTING);
+        socketFactory.acquire();
+        try {
+            socket = socketFactory.create(config.dornaUrl(), messageProc, config.outputLog());
+        } catch (Exception e) {
+            socketFactory.release();
+            setState(ConnectionState.DISCONNECTED);
+            throw e;
+        }
+        socket.setSendFailedHandler(this::onSendFailed);
+        setState(ConnectionState.CONNECTED);
+        return socket;
+    }
+
+    public ConnectionState getState() {
+        return state;
+    }
+
+    /**
+     * @see pinorobotics.drac.DornaClient#addConnectionStateListener(Consumer)
+     */
+    public void addListener(Consumer<ConnectionState> listener) {
+        listeners.add(listener);
+    }
+
+    private synchronized void onConnectionLost(WebSocket webSocket, String reason) {
+        // ignore events from the connections which were already replaced
+        if (state != ConnectionState.CONNECTED || !socket.isConnectedTo(webSocket)) return;
+        LOGGER.warning("Connection to {0} is lost: {1}", config.dornaUrl(), reason);
+        if (!config.reconnect()) {
+            setState(ConnectionState.DISCONNECTED);
+            failPending(reason);
+            return;
+        }
+        socket.pause();
+        setState(ConnectionState.DISCONNECTED);
+        resendCommands = recoverPending(reason);
+        scheduleReconnect(0);
+    }
+
+    /**
+     * Send can fail before the listener notices that connection is lost. Command which was being
+     * sent is neither queued nor completed at that point, so it is recovered together with the
+     * commands which were sent before it. Connection loss is handled asynchronously since the
+     * sending thread may be the one which completes the send {@link #close()} is waiting for.
+     *
+     * <p>Commands which fail to send while connection is not going to be restored are left to
+     * {@link DracSocket} to fail.
+     */
+    private boolean onSendFailed(
+            WebSocket webSocket, String reason, CompletableFuture<?> commandFuture) {
+        if (state != ConnectionState.CONNECTED || !config.reconnect()) return false;
+        if (!isPending(commandFuture)) return false;
+        executor.execute(() -> onConnectionLost(webSocket, reason));
+        return true;
+    }
+
+    private boolean isPending(CompletableFuture<?> future) {
+        var isPending = new boolean[1];
+        messageProc
+                .getPendingCommands()
+                .forEach(command -> isPending[0] |= command.future() == future);
+        return isPending[0] || messageProc.isAwaited(future);
+    }
+
+    /**
+     * Fail all commands which were sent but not completed unless they can be resent
+     *
+     * @return commands to resend
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private List<PendingCommands.Command> recoverPending(String reason) {
+        var queued = socket.getQueuedCommands();
+        var resend = new ArrayList<PendingCommands.Command>();
+        messageProc
+                .getPendingCommands()
+                .forEach(
+                        command -> {
+                            if (queued.contains(command.future())) return;
+                            switch (config.recoveryPolicy(command.command())) {
+                                case RESEND -> resend.add(command);
+                                case FAIL -> fail(command.future(), command.command(), reason);
+                            }
+                        });
+        messageProc
+                .getAwaitedCommands()
+                .forEach(
+                        (command, future) -> {
+                            // command is sent with the future of one of its callers
+                            if (queued.contains(future)) return;
+                            if (messageProc.getAwaitedCallers(command).stream()
+                                    .anyMatch(queued::contains)) return;
+                            switch (config.recoveryPolicy(command)) {
+                                case RESEND ->
+                                        resend.add(
+                                                new PendingCommands.Command(
+                                                        -1,
+                                                        command,
+                                                        "{\"cmd\":\"" + command + "\"}",
+                                                        (CompletableFuture) future,
+                                                        true));
+                                case FAIL -> fail(future, command, reason);
+                            }
+                        });
+        return resend;
+    }
+
+    private void failPending(String reason) {
+        messageProc
+                .getPendingCommands()
+                .forEach(command -> fail(command.future(), command.command(), reason));
+        messageProc
+                .getAwaitedCommands()
+                .forEach((command, future) -> fail(future, command, reason));
+    }
+
+    private void fail(CompletableFuture<?> future, String command, String reason) {
+        future.completeExceptionally(
+                new ConnectionLostException(
+                        "Connection was lost before command " + command + " completed: " + reason));
+    }
+
+    private void scheduleReconnect(int attempt) {
+        var delay = reconnectDelay(attempt);
+        LOGGER.info("Reconnect attempt {0} in {1}", attempt + 1, delay);
+        CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS, executor)
+                .execute(() -> reconnect(attempt));
+    }
+
+    /** Exponential backoff where half of the delay is random */
+    private Duration reconnectDelay(int attempt) {
+        var max = config.maxReconnectDelay().toNanos();
+        var delay = config.minReconnectDelay().toNanos();
+        for (int i = 0; i < attempt && delay < max; i++) delay *= 2;
+        delay = Math.min(delay, max);
+        return Duration.ofNanos(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+    }
+
+    private synchronized void reconnect(int attempt) {
+        if (state == ConnectionState.CLOSED) return;
+        setState(ConnectionState.RECONNECTING);
+        DracSocket connection;
+        try {
+            connection = socketFactory.create(config.dornaUrl(), messageProc, Optional.empty());
+        } catch (Exception e) {
+            LOGGER.warning("Reconnect attempt {0} failed: {1}", attempt + 1, e.getMessage());
+            setState(ConnectionState.DISCONNECTED);
+            scheduleReconnect(attempt + 1);
+            return;
+        }
+        LOGGER.info("Connection to {0} is restored", config.dornaUrl());
+        // resent commands can complete as soon as they are sent so state is updated before that
+        setState(ConnectionState.CONNECTED);
+        // resent commands go ahead of the ones which were issued after them
+        for (var command : resendCommands) {
+            if (command.future().isDone()) continue;
+            LOGGER.fine("Resending command {0} with id {1}", command.command(), command.id());
+            socket.sendPriorityText(command.frame(), command.future());
+        }
+        resendCommands = List.of();
+        socket.resume(connection);
+    }
+
+    private void setState(ConnectionState newState) {
+        if (state == newState) return;
+        LOGGER.fine("Connection state {0} -> {1}", state, newState);
+        state = newState;
+        CONNECTION_STATE_COUNT_METER.add(
+                1, metricAttributes.toBuilder().put(STATE_ATTRIBUTE, newState.name()).build());
+        for (var listener : listeners) {
+            try {
+                listener.accept(newState);
+            } catch (Exception e) {
+                LOGGER.severe("Connection state listener failed", e);
+            }
+        }
+    }
+
+    /** Close the connection, commands which are waiting for connection to be restored are failed */
+    @Override
+    public synchronized void close() {
+        var wasConnected = state == ConnectionState.CONNECTED;
+        setState(ConnectionState.CLOSED);
+        if (socket == null) return;
+        // commands to resend are not queued anymore so aborting the socket does not fail them
+        for (var command : resendCommands)
+            fail(command.future(), command.command(), "Connection closed");
+        resendCommands = List.of();
+        if (!wasConnected) failPending("Connection closed");
+        try {
+            if (wasConnected) socket.sendClose();
+            else socket.abort();
+        } finally {
+            socketFactory.release();
+        }
+    }
+}
@@ -23,21 +23,38 @@ import id.xfunction.lang.XThread;
 import id.xfunction.logging.XLogger;
 import id.xfunction.util.IdempotentService;
 import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
 import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.LongHistogram;
 import io.opentelemetry.api.metrics.Meter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import pinorobotics.drac.CommandType;
+import pinorobotics.drac.CompiledScript;
+import pinorobotics.drac.ConnectionState;
 import pinorobotics.drac.DornaClient;
 import pinorobotics.drac.DornaClientConfig;
 import pinorobotics.drac.DornaRobotModel;
 import pinorobotics.drac.Joints;
+import pinorobotics.drac.MotionSubscriptionPolicy;
 import pinorobotics.drac.exceptions.DornaClientException;
 import pinorobotics.drac.messages.Motion;
+import pinorobotics.drac.messages.MotionSamples;
+import pinorobotics.drac.messages.MotionSnapshot;
 import pinorobotics.drac.metrics.DracMetrics;
 
 /**
@@ -47,6 +64,10 @@ import pinorobotics.drac.metrics.DracMetrics;
  */
 public class DornaClientImpl extends IdempotentService implements DornaClient {
     private static final XLogger LOGGER = XLogger.getLogger(DornaClientImpl.class);
+
+    /** Number of lines which streamed scripts are read and compiled at once */
+    private static final int STREAMED_PLAY_CHUNK = 256;
+
     private static final Meter METER =
             GlobalOpenTelemetry.getMeter(DornaClientImpl.class.getSimpleName());
     private static final LongCounter VERSION_COUNT_METER =
@@ -101,6 +122,41 @@ public class DornaClientImpl extends IdempotentService implements DornaClient {
                     .setDescription(DracMetrics.MOTOR_TIME_METRIC_DESCRIPTION)
                     .ofLongs()
                     .build();
+    private static final LongCounter HALT_COUNT_METER =
+            METER.counterBuilder(DracMetrics.HALT_COUNT_METRIC)
+                    .setDescription(DracMetrics.HALT_COUNT_METRIC_DESCRIPTION)
+                    .build();
+    private static final LongCounter HALT_FAILED_COUNT_METER =
+            METER.counterBuilder(DracMetrics.HALT_FAILED_COUNT_METRIC)
+                    .setDescription(DracMetrics.HALT_FAILED_COUNT_METRIC_DESCRIPTION)
+                    .build();
+    private static final LongHistogram HALT_TIME_METER =
+            METER.histogramBuilder(DracMetrics.HALT_TIME_METRIC)
+                    .setDescription(DracMetrics.HALT_TIME_METRIC_DESCRIPTION)
+                    .ofLongs()
+                    .build();
+    private static final LongHistogram HALT_SEND_LATENCY_METER =
+            METER.histogramBuilder(DracMetrics.HALT_SEND_LATENCY_METRIC)
+                    .setDescription(DracMetrics.HALT_SEND_LATENCY_METRIC_DESCRIPTION)
+                    .ofLongs()
+                    .build();
+    private static final LongCounter STREAM_COUNT_METER =
+            METER.counterBuilder(DracMetrics.STREAM_COUNT_METRIC)
+                    .setDescription(DracMetrics.STREAM_COUNT_METRIC_DESCRIPTION)
+                    .build();
+    private static final LongCounter STREAM_FAILED_COUNT_METER =
+            METER.counterBuilder(DracMetrics.STREAM_FAILED_COUNT_METRIC)
+                    .setDescription(DracMetrics.STREAM_FAILED_COUNT_METRIC_DESCRIPTION)
+                    .build();
+    private static final LongHistogram STREAM_TIME_METER =
+            METER.histogramBuilder(DracMetrics.STREAM_TIME_METRIC)
+                    .setDescription(DracMetrics.STREAM_TIME_METRIC_DESCRIPTION)
+                    .ofLongs()
+                    .build();
+    private static final DoubleHistogram STREAM_RATE_METER =
+            METER.histogramBuilder(DracMetrics.STREAM_RATE_METRIC)
+                    .setDescription(DracMetrics.STREAM_RATE_METRIC_DESCRIPTION)
+                    .build();
     private static final LongCounter PLAY_COUNT_METER =
             METER.counterBuilder(DracMetrics.PLAY_COUNT_METRIC)
                     .setDescription(DracMetrics.PLAY_COUNT_METRIC_DESCRIPTION)
@@ -114,20 +170,39 @@ public class DornaClientImpl extends IdempotentService implements DornaClient {
                     .setDescription(DracMetrics.PLAY_TIME_METRIC_DESCRIPTION)
                     .ofLongs()
                     .build();
+    private static final DoubleHistogram PLAY_RATE_METER =
+            METER.histogramBuilder(DracMetrics.PLAY_RATE_METRIC)
+                    .setDescription(DracMetrics.PLAY_RATE_METRIC_DESCRIPTION)
+                    .build();
 
-    private MessageProcessor messageProc = new MessageProcessor();
-    private IdGenerator idGenerator = new IdGenerator();
+    private MessageProcessor messageProc;
+    private IdGenerator idGenerator;
     private DornaClientConfig dornaClientConfig;
     private DracSocket webSocket;
     private DracSocketFactory socketFactory;
+    private ScriptCache scriptCache;
+    private Executor executor = ForkJoinPool.commonPool();
+    private CommandTimeouts timeouts;
+    private ConnectionSupervisor supervisor;
+    private Attributes metricAttributes;
+    private volatile boolean isStarted;
 
     public DornaClientImpl(DornaClientConfig dornaClientConfig) {
-        this(dornaClientConfig, new DracSocketFactory());
+        this(dornaClientConfig, new DracSocketFactory(dornaClientConfig.receiveWindow()));
     }
 
     public DornaClientImpl(DornaClientConfig dornaClientConfig, DracSocketFactory socketFactory) {
         this.dornaClientConfig = dornaClientConfig;
         this.socketFactory = socketFactory;
+        metricAttributes = MetricAttributes.of(dornaClientConfig);
+        messageProc =
+                new MessageProcessor(dornaClientConfig.motionHistoryCapacity(), metricAttributes);
+        idGenerator = new IdGenerator(messageProc.getPendingCommands());
+        scriptCache =
+                new ScriptCache(dornaClientConfig.model(), dornaClientConfig.scriptCacheSize());
+        timeouts = new CommandTimeouts(dornaClientConfig);
+        supervisor =
+                new ConnectionSupervisor(dornaClientConfig, socketFactory, messageProc, executor);
     }
 
     @Override
@@ -136,77 +211,100 @@ public class DornaClientImpl extends IdempotentService implements DornaClient {
         return messageProc.getLastMotion();
     }
 
+    @Override
+    public void getLastMotion(MotionSnapshot snapshot) {
+        start();
+        messageProc.getLastMotion(snapshot);
+    }
+
+    @Override
+    public boolean getMotionAt(long time, MotionSnapshot snapshot) {
+        start();
+        return messageProc.getMotionHistory().getAt(time, snapshot);
+    }
+
+    @Override
+    public int getMotionHistory(long fromTime, long toTime, MotionSamples samples) {
+        start();
+        return messageProc.getMotionHistory().getRange(fromTime, toTime, samples);
+    }
+
+    @Override
+    public boolean interpolateMotion(long time, MotionSnapshot snapshot) {
+        start();
+        return messageProc.getMotionHistory().interpolate(time, snapshot);
+    }
+
+    @Override
+    public Flow.Publisher<Motion> getMotionPublisher(MotionSubscriptionPolicy policy) {
+        start();
+        return messageProc.getMotionPublisher().publisher(policy);
+    }
+
+    @Override
+    public CompletableFuture<Motion> awaitMotionAsync(
+            Predicate<Motion> predicate, Duration timeout) {
+        start();
+        return messageProc.awaitMotion(predicate, timeout);
+    }
+
     @Override
     public int version() throws DornaClientException {
+        return await(versionAsync());
+    }
+
+    @Override
+    public CompletableFuture<Integer> versionAsync() {
         start();
         var startAt = Instant.now();
         LOGGER.fine("Call version command");
-        var future = messageProc.await(CommandType.VERSION);
-        webSocket.request(1);
-        var command =
-                """
-                {"cmd":"%s"}"""
-                        .formatted(CommandType.VERSION);
-        VERSION_COUNT_METER.add(1);
-        webSocket.sendText(command);
-        try {
-            return future.get().get("version", Integer.class);
-        } catch (InterruptedException | ExecutionException e) {
-            VERSION_FAILED_COUNT_METER.add(1);
-            throw new DornaClientException(e);
-        } finally {
-            VERSION_TIME_METER.record(Duration.between(startAt, Instant.now()).toMillis());
-        }
+        var future =
+                timeouts.watch(messageProc.await(CommandType.VERSION), CommandType.VERSION, -1);
+        var command = CommandEncoder.get().version();
+        VERSION_COUNT_METER.add(1, metricAttributes);
+        webSocket.sendText(command, future);
+        return future.thenApply(message -> message.get("version", Integer.class))
+                .whenComplete(
+                        (r, e) -> {
+                            if (e != null) VERSION_FAILED_COUNT_METER.add(1, metricAttributes);
+                            VERSION_TIME_METER.record(
+                                    Duration.between(startAt, Instant.now()).toMillis(),
+                                    metricAttributes);
+                        });
     }
 
     @Override
     public void joint(Joints joints) throws DornaClientException {
+        await(jointAsync(joints));
+    }
+
+    @Override
+    public CompletableFuture<Void> jointAsync(Joints joints) {
         verifyLimits(joints);
         start();
         var startAt = Instant.now();
         LOGGER.fine("Call joint command joints={0}", joints);
         var id = idGenerator.nextId();
-        var future = messageProc.awaitResult(id);
-        webSocket.request(1);
-        var command =
-                """
-{"cmd":"%s","id":%d,"j0":%f,"j1":%f,"j2":%f,"j3":%f,"j4":%f,"j5":%f,"j6":%f,"j7":%f}"""
-                        .formatted(
-                                CommandType.JOINT,
-                                id,
-                                joints.j0(),
-                                joints.j1(),
-                                joints.j2(),
-                                joints.j3(),
-                                joints.j4(),
-                                joints.j5(),
-                                joints.j6(),
-                                joints.j7());
-        JOINT_COUNT_METER.add(1);
-        webSocket.sendText(command);
-        try {
-            Preconditions.equals(joints, future.get().joints());
-        } catch (InterruptedException | ExecutionException e) {
-            JOINT_FAILED_COUNT_METER.add(1);
-            throw new DornaClientException(e);
-        } finally {
-            JOINT_TIME_METER.record(Duration.between(startAt, Instant.now()).toMillis());
-        }
+        var command = CommandEncoder.get().joint(id, joints).toString();
+        var future =
+                timeouts.watch(
+                        messageProc.awaitResult(id, CommandType.JOINT, command),
+                        CommandType.JOINT,
+                        id);
+        JOINT_COUNT_METER.add(1, metricAttributes);
+        webSocket.sendText(command, future);
+        return future.thenAccept(message -> Preconditions.equals(joints, message.joints()))
+                .whenComplete(
+                        (r, e) -> {
+                            if (e != null) JOINT_FAILED_COUNT_METER.add(1, metricAttributes);
+                            JOINT_TIME_METER.record(
+                                    Duration.between(startAt, Instant.now()).toMillis(),
+                                    metricAttributes);
+                        });
     }
 
     private void verifyLimits(Joints joints) {
-        var lower = model().lowerLimit();
-        var upper = model().upperLimit();
-        var actual = joints.toArray();
-        for (int i = 0; i < lower.length; i++) {
-            Preconditions.isTrue(
-                    lower[i] <= actual[i] && actual[i] <= upper[i],
-                    "Joint %d is out of limits: actual %f, limit [%f, %f]",
-                    i,
-                    actual[i],
-                    lower[i],
-                    upper[i]);
-        }
+        JointLimits.verify(model(), joints);
     }
 
     @Override
@@ -218,6 +316,32 @@ public class DornaClientImpl extends IdempotentService implements DornaClient {
             double velocity,
             double acceleration,
             double jerk) {
+        await(sendJmove(joints, isRelative, isAsync, isContinuous, velocity, acceleration, jerk));
+    }
+
+    @Override
+    public CompletableFuture<Void> jmoveAsync(
+            Joints joints,
+            boolean isRelative,
+            boolean isContinuous,
+            double velocity,
+            double acceleration,
+            double jerk) {
+        return sendJmove(joints, isRelative, false, isContinuous, velocity, acceleration, jerk);
+    }
+
+    /**
+     * @param isAsync send command without id so that it is not tracked for completion, returned
+     *     future is completed once command is sent
+     */
+    private CompletableFuture<Void> sendJmove(
+            Joints joints,
+            boolean isRelative,
+            boolean isAsync,
+            boolean isContinuous,
+            double velocity,
+            double acceleration,
+            double jerk) {
         verifyLimits(joints);
         start();
         var startAt = Instant.now();
@@ -225,42 +349,41 @@ public class DornaClientImpl extends IdempotentService implements DornaClient {
                 "Call jmove command isRelative={0}, isAsync={1}, isContinuous={2}, joints={3}",
                 isRelative, isAsync, isContinuous, joints);
         var id = isAsync ? -1 : idGenerator.nextId();
-        var future =
-                isAsync ? CompletableFuture.completedFuture(null) : messageProc.awaitCompletion(id);
-        webSocket.request(1);
         var command =
-                """
-{"cmd":"%s"%s,"j0":%f,"j1":%f,"j2":%f,"j3":%f,"j4":%f,"j5":%f,"j6":%f,"j7":%f,"rel":%d,"vel":%f,"accel":%f,"jerk":%f,"cont":%d}"""
-                        .formatted(
+                CommandEncoder.get()
+                        .jmove(id, joints, isRelative, isContinuous, velocity, acceleration, jerk)
+                        .toString();
+        var future =
+                isAsync
+                        ? new CompletableFuture<Void>()
+                        : timeouts.watch(
+                                messageProc.awaitCompletion(id, CommandType.JMOVE, command),
                                 CommandType.JMOVE,
-                                isAsync ? "" : ",\"id\":" + id,
-                                joints.j0(),
-                                joints.j1(),
-                                joints.j2(),
-                                joints.j3(),
-                                joints.j4(),
-                                joints.j5(),
-                                joints.j6(),
-                                joints.j7(),
-                                isRelative ? 1 : 0,
-                                velocity,
-                                acceleration,
-                                jerk,
-                                isContinuous ? 1 : 0);
-        JMOVE_COUNT_METER.add(1);
-        webSocket.sendText(command);
-        try {
-            future.get();
-        } catch (InterruptedException | ExecutionException e) {
-            JMOVE_FAILED_COUNT_METER.add(1);
-            throw new DornaClientException(e);
-        } finally {
-            JMOVE_TIME_METER.record(Duration.between(startAt, Instant.now()).toMillis());
-        }
+                                id);
+        JMOVE_COUNT_METER.add(1, metricAttributes);
+        var sent = webSocket.sendMotionText(command, future);
+        // command without id is completed as soon as it is sent
+        if (isAsync) sent.thenRun(() -> future.complete(null));
+        return future.whenComplete(
+                (r, e) -> {
+                    if (e != null) JMOVE_FAILED_COUNT_METER.add(1, metricAttributes);
+                    JMOVE_TIME_METER.record(
+                            Duration.between(startAt, Instant.now()).toMillis(), metricAttributes);
+                });
     }
 
     @Override
     public void motor(boolean isOn) throws DornaClientException {
+        await(motorAsync(isOn));
+    }
+
+    /**
+     * Safety confirmation before turning off the motor is done synchronously by the calling thread
+     * (see {@link DornaClientConfig.Builder#confirmMotorShutOff(boolean)}), only then the command
+     * is sent.
+     */
+    @Override
+    public CompletableFuture<Void> motorAsync(boolean isOn) {
         start();
         LOGGER.fine("Call motor command isOn={0}", isOn);
         var startAt = Instant.now();
@@ -295,37 +418,160 @@ To move robotic arm to home position automatically, type "h" and press Enter.
 
         var id = idGenerator.nextId();
         var val = isOn ? 1 : 0;
-        var future = messageProc.awaitResult(id);
-        webSocket.request(1);
-        var command =
-                """
-                {"cmd":"%s","id":%d,"motor":%d}"""
-                        .formatted(CommandType.MOTOR, id, val);
-        MOTOR_COUNT_METER.add(1);
-        webSocket.sendText(command);
+        var command = CommandEncoder.get().motor(id, val).toString();
+        var future =
+                timeouts.watch(
+                        messageProc.awaitResult(id, CommandType.MOTOR, command),
+                        CommandType.MOTOR,
+                        id);
+        MOTOR_COUNT_METER.add(1, metricAttributes);
+        webSocket.sendText(command, future);
+        return future.thenAccept(
+                        message ->
+                                Preconditions.equals(
+                                        val, message.get("motor", Double.class).intValue()))
+                .whenComplete(
+                        (r, e) -> {
+                            if (e != null) MOTOR_FAILED_COUNT_METER.add(1, metricAttributes);
+                            MOTOR_TIME_METER.record(
+                                    Duration.between(startAt, Instant.now()).toMillis(),
+                                    metricAttributes);
+                        });
+    }
 
-        try {
-            Preconditions.equals(val, future.get().get("motor", Double.class).intValue());
-        } catch (InterruptedException | ExecutionException e) {
-            MOTOR_FAILED_COUNT_METER.add(1);
-            throw new DornaClientException(e);
-        } finally {
-            MOTOR_TIME_METER.record(Duration.between(startAt, Instant.now()).toMillis());
+    @Override
+    public void halt() throws DornaClientException {
+        await(haltAsync());
+    }
+
+    @Override
+    public CompletableFuture<Void> haltAsync() {
+        start();
+        var issuedAt = System.nanoTime();
+        var startAt = Instant.now();
+        LOGGER.fine("Call halt command");
+        var id = idGenerator.nextId();
+        var command = CommandEncoder.get().halt(id).toString();
+        var future =
+                timeouts.watch(
+                        messageProc.awaitCompletion(id, CommandType.HALT, command),
+                        CommandType.HALT,
+                        id);
+        var cancelled = messageProc.cancelMotions();
+        LOGGER.fine("Cancelled {0} pending motion commands", cancelled);
+        HALT_COUNT_METER.add(1, metricAttributes);
+        // motion commands which are still queued, with or without ids, are cancelled as well
+        webSocket
+                .sendHaltText(command, future)
+                .thenRun(
+                        () ->
+                                HALT_SEND_LATENCY_METER.record(
+                                        (System.nanoTime() - issuedAt) / 1_000, metricAttributes));
+        return future.whenComplete(
+                (r, e) -> {
+                    if (e != null) HALT_FAILED_COUNT_METER.add(1, metricAttributes);
+                    HALT_TIME_METER.record(
+                            Duration.between(startAt, Instant.now()).toMillis(), metricAttributes);
+                });
+    }
+
+    /**
+     * Connection is opened by the first command. Since commands can be issued by multiple threads,
+     * opening the connection is synchronized while commands which find it already opened proceed
+     * without locking.
+     */
+    @Override
+    public void start() {
+        if (isStarted) return;
+        synchronized (this) {
+            super.start();
+            isStarted = true;
         }
     }
 
+    @Override
+    public synchronized void close() {
+        super.close();
+    }
+
     @Override
     protected void onClose() {
+        isStarted = false;
         LOGGER.fine("Closing connection to {0}", dornaClientConfig.dornaUrl());
-        webSocket.sendClose();
+        supervisor.close();
+        messageProc.close();
+        timeouts.close();
+    }
+
+    @Override
+    public void stream(Iterator<Joints> trajectory) throws DornaClientException {
+        await(streamAsync(trajectory));
+    }
+
+    @Override
+    public CompletableFuture<Void> streamAsync(Iterator<Joints> trajectory) {
+        start();
+        var startAt = Instant.now();
+        LOGGER.fine("Call stream command lookahead={0}", dornaClientConfig.streamLookahead());
+        STREAM_COUNT_METER.add(1, metricAttributes);
+        var streamer =
+                new TrajectoryStreamer(
+                        trajectory,
+                        dornaClientConfig,
+                        idGenerator,
+                        messageProc,
+                        webSocket,
+                        executor,
+                        timeouts,
+                        this::haltAsync,
+                        metricAttributes);
+        return streamer.stream()
+                .whenComplete(
+                        (count, e) -> {
+                            if (e != null) {
+                                STREAM_FAILED_COUNT_METER.add(1, metricAttributes);
+                                return;
+                            }
+                            var duration = Duration.between(startAt, Instant.now());
+                            STREAM_TIME_METER.record(duration.toMillis(), metricAttributes);
+                            if (!duration.isZero())
+                                STREAM_RATE_METER.record(
+                                        count * 1_000_000_000. / duration.toNanos(),
+                                        metricAttributes);
+                        })
+                .thenApply(count -> null);
+    }
+
+    @Override
+    public void connect() throws DornaClientException {
+        start();
     }
 
     @Override
     protected void onStart() {
         LOGGER.fine("Opening connection to {0}", dornaClientConfig.dornaUrl());
-        webSocket =
-                socketFactory.create(
-                        dornaClientConfig.dornaUrl(), messageProc, dornaClientConfig.outputLog());
+        webSocket = supervisor.connect();
+    }
+
+    @Override
+    public ConnectionState getConnectionState() {
+        return supervisor.getState();
+    }
+
+    @Override
+    public void addConnectionStateListener(Consumer<ConnectionState> listener) {
+        supervisor.addListener(listener);
+    }
+
+    @Override
+    public CompletableFuture<Void> jmoveAsync(Joints joints, boolean isRelative) {
+        return jmoveAsync(
+                joints,
+                isRelative,
+                false,
+                dornaClientConfig.velocity(),
+                dornaClientConfig.acceleration(),
+                dornaClientConfig.jerk());
     }
 
     @Override
@@ -342,24 +588,90 @@ To move robotic arm to home position automatically, type "h" and press Enter.
 
     @Override
     public void play(List<String> script) throws DornaClientException {
-        start();
-        var startAt = Instant.now();
-        LOGGER.fine("Call play command");
-        PLAY_COUNT_METER.add(1);
-        for (var messageJson : script) {
-            var id = idGenerator.nextId();
-            messageJson = MessageUtils.setId(messageJson, id);
-            var future = messageProc.awaitCompletion(id);
-            webSocket.request(1);
-            webSocket.sendText(messageJson);
+        await(playAsync(script));
+    }
+
+    @Override
+    public void play(Path script) throws DornaClientException {
+        await(playAsync(script));
+    }
+
+    @Override
+    public CompletableFuture<Void> playAsync(Path script) {
+        try {
+            if (Files.size(script) < dornaClientConfig.streamedPlayThreshold()
+                    && !ScriptReader.isGzip(script)) return playAsync(scriptCache.get(script));
+            LOGGER.fine("Streaming script {0}", script);
+            var reader = new ScriptReader(script, dornaClientConfig.model(), STREAMED_PLAY_CHUNK);
             try {
-                future.get();
-            } catch (InterruptedException | ExecutionException e) {
-                PLAY_FAILED_COUNT_METER.add(1);
-                throw new DornaClientException(e);
+                return playAsync(reader).whenComplete((r, e) -> reader.close());
+            } catch (RuntimeException e) {
+                reader.close();
+                throw e;
             }
+        } catch (IOException e) {
+            throw new DornaClientException(e);
+        }
+    }
+
+    @Override
+    public void play(CompiledScript script) throws DornaClientException {
+        await(playAsync(script));
+    }
+
+    @Override
+    public CompletableFuture<Void> playAsync(List<String> script) {
+        return playAsync(scriptCache.get(script));
+    }
+
+    @Override
+    public CompletableFuture<Void> playAsync(CompiledScript script) {
+        return playAsync(List.of(script).iterator());
+    }
+
+    private CompletableFuture<Void> playAsync(Iterator<CompiledScript> chunks) {
+        start();
+        var startAt = Instant.now();
+        var window = dornaClientConfig.playWindow();
+        LOGGER.fine("Call play command window={0}", window);
+        PLAY_COUNT_METER.add(1, metricAttributes);
+        var player =
+                new ScriptPlayer(
+                        chunks,
+                        window,
+                        idGenerator,
+                        messageProc,
+                        webSocket,
+                        executor,
+                        timeouts,
+                        this::haltAsync);
+        return player.play()
+                .whenComplete(
+                        (r, e) -> {
+                            if (e != null) {
+                                PLAY_FAILED_COUNT_METER.add(1, metricAttributes);
+                                return;
+                            }
+                            var duration = Duration.between(startAt, Instant.now());
+                            PLAY_TIME_METER.record(duration.toMillis(), metricAttributes);
+                            if (!duration.isZero())
+                                PLAY_RATE_METER.record(
+                                        player.getSentCount() * 1_000_000_000. / duration.toNanos(),
+                                        metricAttributes);
+                        });
+    }
+
+    /**
+     * Wait for the future of the command
+     *
+     * @throws DornaClientException if command failed
+     */
+    private static <T> T await(CompletableFuture<T> future) throws DornaClientException {
+        try {
+            return future.get();
+        } catch (InterruptedException | ExecutionException | CancellationException e) {
+            throw new DornaClientException(e);
         }
-        PLAY_TIME_METER.record(Duration.between(startAt, Instant.now()).toMillis());
     }
 
     @Override
@@ -17,13 +17,25 @@
  */
 package pinorobotics.drac.impl;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import pinorobotics.drac.CompiledScript;
+import pinorobotics.drac.ConnectionState;
 import pinorobotics.drac.DornaClient;
 import pinorobotics.drac.DornaClientConfig;
 import pinorobotics.drac.DornaRobotModel;
 import pinorobotics.drac.Joints;
+import pinorobotics.drac.MotionSubscriptionPolicy;
 import pinorobotics.drac.exceptions.DornaClientException;
 import pinorobotics.drac.messages.Motion;
+import pinorobotics.drac.messages.MotionSamples;
+import pinorobotics.drac.messages.MotionSnapshot;
 
 /**
  * @author lambdaprime intid@protonmail.com
@@ -32,9 +44,12 @@ public class DornaClientNoop implements DornaClient {
 
     private DornaClientConfig dornaClientConfig;
     private Motion currentMotion;
+    private MotionPublisher motionPublisher;
+    private MotionWaiters motionWaiters = new MotionWaiters();
 
     public DornaClientNoop(DornaClientConfig dornaClientConfig) {
         this.dornaClientConfig = dornaClientConfig;
+        motionPublisher = new MotionPublisher(MetricAttributes.of(dornaClientConfig));
         currentMotion = new Motion(dornaClientConfig.model().home());
     }
 
@@ -43,12 +58,24 @@ public class DornaClientNoop implements DornaClient {
         return 0;
     }
 
+    @Override
+    public CompletableFuture<Integer> versionAsync() {
+        return CompletableFuture.completedFuture(version());
+    }
+
     @Override
     public void joint(Joints joints) throws DornaClientException {}
 
+    @Override
+    public CompletableFuture<Void> jointAsync(Joints joints) {
+        return CompletableFuture.completedFuture(null);
+    }
+
     @Override
     public void jmove(Joints joints, boolean isRelative) throws DornaClientException {
         currentMotion = new Motion(joints);
+        motionWaiters.test(currentMotion);
+        motionPublisher.publish(currentMotion);
     }
 
     @Override
@@ -62,24 +89,135 @@ public class DornaClientNoop implements DornaClient {
             double jerk)
             throws DornaClientException {
         currentMotion = new Motion(joints);
+        motionWaiters.test(currentMotion);
+        motionPublisher.publish(currentMotion);
     }
 
     @Override
     public void motor(boolean isOn) throws DornaClientException {}
 
+    @Override
+    public CompletableFuture<Void> jmoveAsync(Joints joints, boolean isRelative) {
+        jmove(joints, isRelative);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> jmoveAsync(
+            Joints joints,
+            boolean isRelative,
+            boolean isContinuous,
+            double velocity,
+            double acceleration,
+            double jerk) {
+        jmove(joints, isRelative, false, isContinuous, velocity, acceleration, jerk);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> motorAsync(boolean isOn) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void halt() throws DornaClientException {}
+
+    @Override
+    public CompletableFuture<Void> haltAsync() {
+        return CompletableFuture.completedFuture(null);
+    }
+
     @Override
     public DornaRobotModel model() {
         return dornaClientConfig.model();
     }
 
+    @Override
+    public void stream(Iterator<Joints> trajectory) throws DornaClientException {
+        trajectory.forEachRemaining(joints -> JointLimits.verify(model(), joints));
+    }
+
+    @Override
+    public CompletableFuture<Void> streamAsync(Iterator<Joints> trajectory) {
+        stream(trajectory);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void connect() throws DornaClientException {}
+
+    @Override
+    public ConnectionState getConnectionState() {
+        return ConnectionState.CONNECTED;
+    }
+
+    @Override
+    public void addConnectionStateListener(Consumer<ConnectionState> listener) {}
+
     @Override
     public Motion getLastMotion() {
         return currentMotion;
     }
 
+    @Override
+    public void getLastMotion(MotionSnapshot snapshot) {
+        var motion = currentMotion;
+        // snapshot is left unchanged until there is any motion
+        if (motion == null || motion.joints() == null) return;
+        snapshot.set(motion);
+    }
+
+    @Override
+    public boolean getMotionAt(long time, MotionSnapshot snapshot) {
+        return false;
+    }
+
+    @Override
+    public int getMotionHistory(long fromTime, long toTime, MotionSamples samples) {
+        samples.setSize(0);
+        return 0;
+    }
+
+    @Override
+    public boolean interpolateMotion(long time, MotionSnapshot snapshot) {
+        return false;
+    }
+
     @Override
     public void play(List<String> script) throws DornaClientException {}
 
     @Override
-    public void close() {}
+    public void play(CompiledScript script) throws DornaClientException {}
+
+    @Override
+    public CompletableFuture<Void> playAsync(CompiledScript script) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> playAsync(List<String> script) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> playAsync(Path script) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public Flow.Publisher<Motion> getMotionPublisher(MotionSubscriptionPolicy policy) {
+        return motionPublisher.publisher(policy);
+    }
+
+    @Override
+    public CompletableFuture<Motion> awaitMotionAsync(
+            Predicate<Motion> predicate, Duration timeout) {
+        return motionWaiters.await(predicate, timeout, () -> currentMotion);
+    }
+
+    @Override
+    public void close() {
+        motionWaiters.close();
+        motionPublisher.close();
+    }
 }
@@ -19,12 +19,26 @@ package pinorobotics.drac.impl;
 
 import id.xfunction.logging.XLogger;
 import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.Meter;
 import java.net.http.WebSocket;
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import pinorobotics.drac.exceptions.ConnectionLostException;
 import pinorobotics.drac.exceptions.DornaClientException;
 import pinorobotics.drac.metrics.DracMetrics;
 
@@ -32,30 +46,314 @@ import pinorobotics.drac.metrics.DracMetrics;
  * @author lambdaprime intid@protonmail.com
  */
 public class DracSocket {
+
+    /** Handles commands which could not be sent because connection to Command Server failed */
+    @FunctionalInterface
+    public interface SendFailedHandler {
+        /**
+         * @param webSocket connection which failed
+         * @param commandFuture future of the command which was not sent
+         * @return true if command future is going to be completed by the handler (command is
+         *     resent, failed, etc) or false if it should be failed
+         */
+        boolean onSendFailed(
+                WebSocket webSocket, String reason, CompletableFuture<?> commandFuture);
+    }
+
     private static final XLogger LOGGER = XLogger.getLogger(DracSocket.class);
     private final Meter METER = GlobalOpenTelemetry.getMeter(DracSocket.class.getSimpleName());
     private final LongCounter SENT_BYTES_COUNT_METER =
             METER.counterBuilder(DracMetrics.SENT_BYTES_COUNT_METRIC)
                     .setDescription(DracMetrics.SENT_BYTES_COUNT_METRIC_DESCRIPTION)
                     .build();
-    private WebSocket socket;
+
+    /**
+     * @param commandFuture future of the command or null
+     * @param isMotion command moves the robot
+     * @param seq order in which frames were queued
+     */
+    private record Frame(
+            String command,
+            CompletableFuture<Void> sent,
+            CompletableFuture<?> commandFuture,
+            boolean isMotion,
+            long seq) {
+
+        /** Command is already completed (cancelled, timed out) so there is no point to send it */
+        boolean isObsolete() {
+            return commandFuture != null && commandFuture.isDone();
+        }
+    }
+
+    private final Queue<Frame> frames = new ConcurrentLinkedQueue<>();
+
+    /** Frames which are sent before any frames from {@link #frames} */
+    private final Queue<Frame> priorityFrames = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong lastSeq = new AtomicLong();
+
+    /** Motion frames queued before this one are cancelled instead of being sent */
+    private final AtomicLong haltSeq = new AtomicLong();
+
+    /** Number of frames which are queued or being sent */
+    private final AtomicInteger framesCount = new AtomicInteger();
+
+    /** Sending is paused while connection is being restored */
+    private volatile boolean isPaused;
+
+    /** Set when sending stopped because it is paused while there are still queued frames */
+    private final AtomicBoolean isParked = new AtomicBoolean();
+
+    private volatile boolean isAborted;
+    private volatile CompletableFuture<Void> lastSent = CompletableFuture.completedFuture(null);
+    private volatile WebSocket socket;
     private Optional<FileAppender> outputLog;
+    private final Attributes metricAttributes;
+    private volatile SendFailedHandler sendFailedHandler = (webSocket, reason, future) -> false;
 
     @SuppressWarnings("exports")
     public DracSocket(WebSocket socket, Optional<Path> outputLog) {
+        this(socket, outputLog, Attributes.empty());
+    }
+
+    /**
+     * @param metricAttributes attributes of the client (see {@link MetricAttributes})
+     */
+    @SuppressWarnings("exports")
+    public DracSocket(WebSocket socket, Optional<Path> outputLog, Attributes metricAttributes) {
         this.socket = socket;
         this.outputLog = outputLog.map(FileAppender::new);
+        this.metricAttributes = metricAttributes;
     }
 
-    public void sendText(String command) {
-        LOGGER.fine("send: {0}", command);
-        outputLog.ifPresent(out -> out.append(command));
-        try {
-            socket.sendText(command, true).get();
-            SENT_BYTES_COUNT_METER.add(command.length());
-        } catch (InterruptedException | ExecutionException e) {
-            throw new DornaClientException(e);
+    /**
+     * Queue command for sending and return immediately.
+     *
+     * <p>Command is copied so callers can reuse it once this method returns.
+     *
+     * <p>WebSocket allows only one outstanding send operation. Instead of locking, concurrent
+     * callers put their commands into the queue and whichever of them finds the queue empty starts
+     * sending. Each next command is sent when the previous send is completed, by the thread which
+     * completed it, until the queue is empty. Commands are sent in the order they were queued
+     * (except {@link #sendPriorityText(CharSequence, CompletableFuture)}).
+     *
+     * @return future which is completed when command is sent
+     */
+    public CompletableFuture<Void> sendText(CharSequence command) {
+        return send(frames, command, null, false);
+    }
+
+    /**
+     * Queue command for sending and fail the future of the command if it could not be sent. If
+     * command future is completed before command is sent (command was cancelled, timed out, etc)
+     * then command is not sent.
+     *
+     * @see #sendText(CharSequence)
+     */
+    public CompletableFuture<Void> sendText(
+            CharSequence command, CompletableFuture<?> commandFuture) {
+        return send(frames, command, commandFuture, false);
+    }
+
+    /**
+     * Same as {@link #sendText(CharSequence, CompletableFuture)} for the commands which move the
+     * robot, so that they are cancelled by {@link #sendHaltText(CharSequence, CompletableFuture)}
+     */
+    public CompletableFuture<Void> sendMotionText(
+            CharSequence command, CompletableFuture<?> commandFuture) {
+        return send(frames, command, commandFuture, true);
+    }
+
+    /**
+     * Same as {@link #sendText(CharSequence, CompletableFuture)} except that command is sent ahead
+     * of all other queued commands, right after the send which is currently in progress (if any)
+     */
+    public CompletableFuture<Void> sendPriorityText(
+            CharSequence command, CompletableFuture<?> commandFuture) {
+        return send(priorityFrames, command, commandFuture, false);
+    }
+
+    /**
+     * Same as {@link #sendPriorityText(CharSequence, CompletableFuture)} except that all motion
+     * commands (see {@link #sendMotionText(CharSequence, CompletableFuture)}) which were queued
+     * before it are cancelled and never sent, including those which do not have any command future
+     * to track them.
+     *
+     * <p>Frames are ordered by sequence numbers assigned when they are queued, so motion commands
+     * which are queued concurrently with the halt are either cancelled or queued after it and sent
+     * after it.
+     */
+    public CompletableFuture<Void> sendHaltText(
+            CharSequence command, CompletableFuture<?> commandFuture) {
+        var frame = newFrame(command, commandFuture, false);
+        haltSeq.accumulateAndGet(frame.seq(), Math::max);
+        // fail queued motion commands right away instead of waiting until the sender reaches them
+        for (var queued : frames) {
+            if (isHalted(queued) && queued.commandFuture() != null)
+                queued.commandFuture().cancel(false);
         }
+        return send(priorityFrames, frame);
+    }
+
+    /**
+     * Command which was being sent when connection failed is not necessarily lost, it is up to the
+     * handler to decide what to do with it. Otherwise its future is failed together with the send.
+     */
+    public void setSendFailedHandler(SendFailedHandler handler) {
+        this.sendFailedHandler = handler;
+    }
+
+    private Frame newFrame(
+            CharSequence command, CompletableFuture<?> commandFuture, boolean isMotion) {
+        return new Frame(
+                command.toString(),
+                new CompletableFuture<>(),
+                commandFuture,
+                isMotion,
+                lastSeq.incrementAndGet());
+    }
+
+    private boolean isHalted(Frame frame) {
+        return frame.isMotion() && frame.seq() < haltSeq.get();
+    }
+
+    private CompletableFuture<Void> send(
+            Queue<Frame> queue,
+            CharSequence command,
+            CompletableFuture<?> commandFuture,
+            boolean isMotion) {
+        return send(queue, newFrame(command, commandFuture, isMotion));
+    }
+
+    private CompletableFuture<Void> send(Queue<Frame> queue, Frame frame) {
+        var commandFuture = frame.commandFuture();
+        // priority frames are sent before normal ones so the last normal frame is the last one
+        if (queue == frames) lastSent = frame.sent();
+        queue.add(frame);
+        if (framesCount.getAndIncrement() == 0) sendFrames();
+        if (commandFuture == null) return frame.sent();
+        return frame.sent()
+                .whenComplete(
+                        (r, e) -> {
+                            // cancelled frames are either obsolete or taken by the handler
+                            if (e == null || e instanceof CancellationException) return;
+                            commandFuture.completeExceptionally(
+                                    e instanceof Exception ex ? new DornaClientException(ex) : e);
+                        });
+    }
+
+    private void sendFrames() {
+        do {
+            if (isPaused) {
+                isParked.set(true);
+                // connection could be resumed before we parked
+                if (isPaused || !isParked.compareAndSet(true, false)) return;
+            }
+            var priorityFrame = priorityFrames.poll();
+            var frame = priorityFrame != null ? priorityFrame : frames.poll();
+            if (isHalted(frame)) {
+                LOGGER.fine("halted: {0}", frame.command());
+                if (frame.commandFuture() != null) frame.commandFuture().cancel(false);
+                frame.sent().cancel(false);
+                continue;
+            }
+            if (frame.isObsolete()) {
+                LOGGER.fine("skip: {0}", frame.command());
+                frame.sent().cancel(false);
+                continue;
+            }
+            if (isAborted) {
+                frame.sent()
+                        .completeExceptionally(new ConnectionLostException("Connection closed"));
+                continue;
+            }
+            LOGGER.fine("send: {0}", frame.command());
+            CompletableFuture<WebSocket> sent;
+            var webSocket = socket;
+            try {
+                sent = webSocket.sendText(frame.command(), true);
+            } catch (Exception e) {
+                sent = CompletableFuture.failedFuture(e);
+            }
+            if (!sent.isDone()) {
+                // continue from the thread which completes the send
+                sent.whenComplete(
+                        (r, e) -> {
+                            onSent(webSocket, frame, e);
+                            if (framesCount.decrementAndGet() != 0) sendFrames();
+                        });
+                return;
+            }
+            onSent(webSocket, frame, sent.handle((r, e) -> e).join());
+        } while (framesCount.decrementAndGet() != 0);
+    }
+
+    private void onSent(WebSocket webSocket, Frame frame, Throwable e) {
+        if (e != null) {
+            if (e instanceof CompletionException && e.getCause() != null) e = e.getCause();
+            LOGGER.fine("send failed: {0}", frame.command());
+            if (frame.commandFuture() != null
+                    && sendFailedHandler.onSendFailed(
+                            webSocket, String.valueOf(e.getMessage()), frame.commandFuture())) {
+                frame.sent().cancel(false);
+                return;
+            }
+            frame.sent().completeExceptionally(e);
+            return;
+        }
+        outputLog.ifPresent(out -> out.append(frame.command()));
+        SENT_BYTES_COUNT_METER.add(frame.command().length(), metricAttributes);
+        frame.sent().complete(null);
+    }
+
+    /** Check if this socket currently sends commands over the given connection */
+    public boolean isConnectedTo(WebSocket webSocket) {
+        return socket == webSocket;
+    }
+
+    /** Keep all queued and new commands until connection is resumed */
+    public void pause() {
+        LOGGER.fine("pause");
+        isPaused = true;
+    }
+
+    /**
+     * Continue sending queued commands using the connection of another socket
+     *
+     * @param connection socket which is connected to the Command Server, it should not be used
+     *     after this call
+     */
+    public void resume(DracSocket connection) {
+        LOGGER.fine("resume");
+        socket = connection.socket;
+        isPaused = false;
+        if (isParked.compareAndSet(true, false)) sendFrames();
+    }
+
+    /**
+     * Futures of the commands which are queued but not sent yet
+     *
+     * <p>Meant to be used when sending is paused.
+     */
+    public Set<CompletableFuture<?>> getQueuedCommands() {
+        var commands =
+                Collections.newSetFromMap(new IdentityHashMap<CompletableFuture<?>, Boolean>());
+        for (var queue : List.of(priorityFrames, frames)) {
+            for (var frame : queue) {
+                if (frame.commandFuture() != null) commands.add(frame.commandFuture());
+            }
+        }
+        return commands;
+    }
+
+    /** Abort the connection and fail all queued commands without sending them */
+    public void abort() {
+        LOGGER.fine("abort");
+        isAborted = true;
+        outputLog.ifPresent(FileAppender::close);
+        socket.abort();
+        isPaused = false;
+        if (isParked.compareAndSet(true, false)) sendFrames();
     }
 
     public void request(int n) {
@@ -65,8 +363,10 @@ public class DracSocket {
 
     public void sendClose() {
         LOGGER.fine("send close");
-        outputLog.ifPresent(FileAppender::close);
         try {
+            // close can be sent only when there is no outstanding send
+            lastSent.handle((r, e) -> null).get();
+            outputLog.ifPresent(FileAppender::close);
             socket.sendClose(WebSocket.NORMAL_CLOSURE, "").get();
         } catch (InterruptedException | ExecutionException e) {
             throw new DornaClientException(e);
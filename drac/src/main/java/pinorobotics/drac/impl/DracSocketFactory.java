@@ -17,27 +17,85 @@
  */
 package pinorobotics.drac.impl;
 
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
+import pinorobotics.drac.DornaClientConfig;
 import pinorobotics.drac.exceptions.DornaClientException;
+import pinorobotics.drac.metrics.DracMetrics;
 
 /**
+ * Opens connections to the Command Server.
+ *
+ * <p>All connections are opened using {@link SharedHttpClient} which should be acquired before
+ * creating any of them and released once all of them are closed.
+ *
  * @author lambdaprime intid@protonmail.com
  */
 public class DracSocketFactory {
+    private static final Meter METER =
+            GlobalOpenTelemetry.getMeter(DracSocketFactory.class.getSimpleName());
+    private static final LongHistogram CONNECT_TIME_METER =
+            METER.histogramBuilder(DracMetrics.CONNECT_TIME_METRIC)
+                    .setDescription(DracMetrics.CONNECT_TIME_METRIC_DESCRIPTION)
+                    .ofLongs()
+                    .build();
+
+    private final int receiveWindow;
+    private final SharedHttpClient httpClient;
+
+    public DracSocketFactory() {
+        this(DornaClientConfig.Builder.DEFAULT_RECEIVE_WINDOW);
+    }
+
+    /**
+     * @param receiveWindow see {@link DornaClientConfig.Builder#receiveWindow(int)}
+     */
+    public DracSocketFactory(int receiveWindow) {
+        this(receiveWindow, SharedHttpClient.getDefault());
+    }
+
+    /**
+     * @param receiveWindow see {@link DornaClientConfig.Builder#receiveWindow(int)}
+     */
+    public DracSocketFactory(int receiveWindow, SharedHttpClient httpClient) {
+        this.receiveWindow = receiveWindow;
+        this.httpClient = httpClient;
+    }
+
+    /** Acquire {@link SharedHttpClient} */
+    public void acquire() {
+        httpClient.acquire();
+    }
+
+    /** Release {@link SharedHttpClient} */
+    public void release() {
+        httpClient.release();
+    }
 
     public DracSocket create(URI dornaUrl, MessageProcessor messageProc, Optional<Path> outputLog) {
+        var startAt = Instant.now();
         try {
-            HttpClient client = HttpClient.newHttpClient();
             return new DracSocket(
-                    client.newWebSocketBuilder()
-                            .buildAsync(dornaUrl, new CommandServerListener(messageProc))
+                    httpClient
+                            .get()
+                            .newWebSocketBuilder()
+                            .buildAsync(
+                                    dornaUrl, new CommandServerListener(messageProc, receiveWindow))
                             .get(),
-                    outputLog);
+                    outputLog,
+                    messageProc.getMetricAttributes());
         } catch (Exception e) {
             throw new DornaClientException(e);
+        } finally {
+            CONNECT_TIME_METER.record(
+                    Duration.between(startAt, Instant.now()).toMillis(),
+                    messageProc.getMetricAttributes());
         }
     }
 }
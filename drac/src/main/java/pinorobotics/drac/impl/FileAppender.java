@@ -39,8 +39,9 @@ public class FileAppender implements AutoCloseable {
         printWriter.close();
     }
 
-    public void append(String line) {
-        printWriter.println(line);
+    public void append(CharSequence line) {
+        printWriter.append(line);
+        printWriter.println();
     }
 
     private PrintWriter openFile(Path file) {
@@ -17,13 +17,46 @@
  */
 package pinorobotics.drac.impl;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Allocates ids for the commands sent to the Command Server.
+ *
+ * <p>Ids are allocated without locks so that commands can be issued by multiple threads at the same
+ * time. Ids are positive and wrap around to 1 once they reach {@link Integer#MAX_VALUE}. Ids which
+ * would land into the slot of a command which is still pending are skipped (see {@link
+ * PendingCommands}).
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
 public class IdGenerator {
 
-    private int count;
+    private final AtomicInteger lastId;
+    private final PendingCommands pendingCommands;
+
+    public IdGenerator(PendingCommands pendingCommands) {
+        this(pendingCommands, 0);
+    }
+
+    /**
+     * @param lastId id after which allocation starts
+     */
+    public IdGenerator(PendingCommands pendingCommands, int lastId) {
+        this.pendingCommands = pendingCommands;
+        this.lastId = new AtomicInteger(lastId);
+    }
 
     public int nextId() {
-        count++;
-        if (count <= 0) count = 1;
-        return count;
+        var id = 0;
+        // when all slots are occupied we give up and let registration of the command fail
+        for (int i = 0; i < pendingCommands.capacity(); i++) {
+            id = lastId.updateAndGet(IdGenerator::next);
+            if (!pendingCommands.isOccupied(id)) break;
+        }
+        return id;
+    }
+
+    private static int next(int id) {
+        return id == Integer.MAX_VALUE ? 1 : id + 1;
     }
 }
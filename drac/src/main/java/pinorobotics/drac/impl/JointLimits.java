@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import id.xfunction.Preconditions;
+import pinorobotics.drac.DornaRobotModel;
+import pinorobotics.drac.Joints;
+
+/**
+ * Verification of joint limits defined by {@link DornaRobotModel}
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class JointLimits {
+
+    public static void verify(DornaRobotModel model, Joints joints) {
+        var actual = joints.toArray();
+        for (int i = 0; i < model.lowerLimit().length; i++) {
+            verify(model, i, actual[i]);
+        }
+    }
+
+    /**
+     * @throws id.xfunction.PreconditionException if joint is out of limits
+     */
+    public static void verify(DornaRobotModel model, int joint, double value) {
+        var lower = model.lowerLimit();
+        var upper = model.upperLimit();
+        if (joint >= lower.length) return;
+        Preconditions.isTrue(
+                lower[joint] <= value && value <= upper[joint],
+                "Joint %d is out of limits: actual %f, limit [%f, %f]",
+                joint,
+                value,
+                lower[joint],
+                upper[joint]);
+    }
+}
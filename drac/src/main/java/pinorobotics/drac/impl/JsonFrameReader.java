@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+/**
+ * Allocation free reader of flat JSON objects (frames) received from the Command Server.
+ *
+ * <p>Only objects with string and number values are supported. Strings with escape sequences,
+ * nested objects and arrays are treated as malformed frames so that callers can fall back to {@link
+ * MessageUtils#parse(String)}.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class JsonFrameReader {
+
+    /** Exact powers of ten which can be represented as double */
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+        1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private CharSequence json;
+    private int pos;
+    private int keyStart;
+    private int keyEnd;
+    private boolean isFirstField;
+    private boolean isMalformed;
+
+    /**
+     * Start reading new frame
+     *
+     * @return false if frame does not start with JSON object
+     */
+    public boolean reset(CharSequence json) {
+        this.json = json;
+        pos = 0;
+        keyStart = keyEnd = 0;
+        isFirstField = true;
+        isMalformed = false;
+        skipWhitespaces();
+        if (!consume('{')) return fail();
+        return true;
+    }
+
+    /**
+     * Move to the next field of the object. When field is found the reader is positioned at its
+     * value.
+     *
+     * @return false when end of object is reached or frame is malformed (see {@link
+     *     #isMalformed()})
+     */
+    public boolean nextField() {
+        if (isMalformed) return false;
+        skipWhitespaces();
+        if (consume('}')) {
+            skipWhitespaces();
+            if (pos != json.length()) fail();
+            return false;
+        }
+        if (!isFirstField && !consume(',')) return fail();
+        isFirstField = false;
+        skipWhitespaces();
+        if (!consume('"')) return fail();
+        keyStart = pos;
+        if (!skipString()) return fail();
+        keyEnd = pos - 1;
+        skipWhitespaces();
+        if (!consume(':')) return fail();
+        skipWhitespaces();
+        return true;
+    }
+
+    /** Check if name of the current field is equal to the given one */
+    public boolean isKey(String key) {
+        var len = keyEnd - keyStart;
+        if (len != key.length()) return false;
+        for (int i = 0; i < len; i++) {
+            if (json.charAt(keyStart + i) != key.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Read value of the current field as a number.
+     *
+     * @return parsed number or {@link Double#NaN} if value is not a number (in that case frame is
+     *     marked as malformed)
+     */
+    public double readNumber() {
+        var start = pos;
+        var len = json.length();
+        var isNegative = consume('-');
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        var isExact = true;
+        var digitsStart = pos;
+        while (pos < len && isDigit(json.charAt(pos))) {
+            if (digits < 18) mantissa = mantissa * 10 + (json.charAt(pos) - '0');
+            else isExact = false;
+            if (mantissa != 0) digits++;
+            pos++;
+        }
+        if (pos == digitsStart) {
+            fail();
+            return Double.NaN;
+        }
+        if (consume('.')) {
+            var fractionStart = pos;
+            while (pos < len && isDigit(json.charAt(pos))) {
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (json.charAt(pos) - '0');
+                    exponent--;
+                    if (mantissa != 0) digits++;
+                } else if (json.charAt(pos) != '0') isExact = false;
+                pos++;
+            }
+            if (pos == fractionStart) {
+                fail();
+                return Double.NaN;
+            }
+        }
+        if (pos < len && (json.charAt(pos) == 'e' || json.charAt(pos) == 'E')) {
+            pos++;
+            if (!consume('+')) consume('-');
+            var exponentStart = pos;
+            while (pos < len && isDigit(json.charAt(pos))) pos++;
+            if (pos == exponentStart) {
+                fail();
+                return Double.NaN;
+            }
+            // exponent form is not used by the Command Server so we do not optimize it
+            isExact = false;
+        }
+        if (!isExact
+                || mantissa > MAX_EXACT_MANTISSA
+                || exponent < -(POW10.length - 1)
+                || exponent > 0) {
+            return Double.parseDouble(json.subSequence(start, pos).toString());
+        }
+        // both mantissa and power of ten are exact so result is correctly rounded
+        var value = mantissa / POW10[-exponent];
+        return isNegative ? -value : value;
+    }
+
+    /**
+     * Check if value of the current field is a string equal to the given one. Reader moves to the
+     * end of the value.
+     */
+    public boolean isStringValue(String value) {
+        if (!consume('"')) {
+            fail();
+            return false;
+        }
+        var start = pos;
+        if (!skipString()) return fail();
+        var len = pos - 1 - start;
+        if (len != value.length()) return false;
+        for (int i = 0; i < len; i++) {
+            if (json.charAt(start + i) != value.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /** Frame is malformed or uses JSON features which are not supported by this reader */
+    public boolean isMalformed() {
+        return isMalformed;
+    }
+
+    /** Move position after the closing quote of the string */
+    private boolean skipString() {
+        var len = json.length();
+        while (pos < len) {
+            var ch = json.charAt(pos++);
+            if (ch == '"') return true;
+            if (ch == '\\') return false;
+        }
+        return false;
+    }
+
+    private boolean consume(char ch) {
+        if (pos < json.length() && json.charAt(pos) == ch) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespaces() {
+        var len = json.length();
+        while (pos < len) {
+            var ch = json.charAt(pos);
+            if (ch != ' ' && ch != '\t' && ch != '\n' && ch != '\r') break;
+            pos++;
+        }
+    }
+
+    private static boolean isDigit(char ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private boolean fail() {
+        isMalformed = true;
+        return false;
+    }
+}
@@ -19,44 +19,91 @@ package pinorobotics.drac.impl;
 
 import id.xfunction.logging.XLogger;
 import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.Meter;
-import java.util.HashMap;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Future;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 import pinorobotics.drac.CommandStatus;
 import pinorobotics.drac.CommandType;
 import pinorobotics.drac.exceptions.DornaClientException;
 import pinorobotics.drac.messages.Motion;
+import pinorobotics.drac.messages.MotionSnapshot;
 import pinorobotics.drac.metrics.DracMetrics;
 
 /**
  * @author lambdaprime intid@protonmail.com
  */
-public class MessageProcessor {
+public class MessageProcessor implements AutoCloseable {
     private static final XLogger LOGGER = XLogger.getLogger(MessageProcessor.class);
+
+    /** Maximum number of commands with ids which can be pending at the same time */
+    public static final int MAX_PENDING_COMMANDS = 4096;
+
+    /** Dorna commands which move the robot, they can be issued directly or from the scripts */
+    private static final Set<String> MOTION_COMMANDS =
+            Set.of(CommandType.JMOVE, "lmove", "cmove", "rmove");
+
     private final Meter METER =
             GlobalOpenTelemetry.getMeter(MessageProcessor.class.getSimpleName());
     private final LongCounter MOTIO1N_MESSAGE_COUNT_METER =
             METER.counterBuilder(DracMetrics.MOTIO1N_MESSAGE_COUNT_METRIC)
                     .setDescription(DracMetrics.MOTION_MESSAGE_COUNT_METRIC_DESCRIPTION)
                     .build();
-    private Map<String, CompletableFuture<Message>> pendingCommands = new HashMap<>();
-    private Map<Integer, CompletableFuture<Message>> pendingCommandsAwaitingResult =
-            new HashMap<>();
-    private Map<Integer, CompletableFuture<Void>> pendingCommandsAwaitingCompletion =
-            new HashMap<>();
+    private final Map<String, CompletableFuture<Message>> pendingCommands =
+            new ConcurrentHashMap<>();
+
+    /** Futures returned to the callers of {@link #await(String)}, guarded by pendingCommands */
+    private final Map<CompletableFuture<Message>, Set<CompletableFuture<Message>>> awaitedCallers =
+            new IdentityHashMap<>();
+
+    private PendingCommands pendingCommandsById;
     private MotionHolder lastMotion = new MotionHolder();
+    private MotionHistory motionHistory;
+    private MotionPublisher motionPublisher;
+    private MotionWaiters motionWaiters = new MotionWaiters();
+    private final Attributes metricAttributes;
+    private volatile BiConsumer<WebSocket, String> connectionLostHandler =
+            (webSocket, reason) -> LOGGER.warning("Connection lost: {0}", reason);
+
+    /**
+     * @param motionHistoryCapacity see {@link MotionHistory}
+     */
+    public MessageProcessor(int motionHistoryCapacity) {
+        this(motionHistoryCapacity, Attributes.empty());
+    }
+
+    /**
+     * @param motionHistoryCapacity see {@link MotionHistory}
+     * @param metricAttributes attributes of the client (see {@link MetricAttributes})
+     */
+    public MessageProcessor(int motionHistoryCapacity, Attributes metricAttributes) {
+        this.metricAttributes = metricAttributes;
+        motionHistory = new MotionHistory(motionHistoryCapacity);
+        pendingCommandsById = new PendingCommands(MAX_PENDING_COMMANDS, metricAttributes);
+        motionPublisher = new MotionPublisher(metricAttributes);
+    }
+
+    /** Attributes of the client which should be added to all its metrics */
+    public Attributes getMetricAttributes() {
+        return metricAttributes;
+    }
 
     public void process(Message message) {
         LOGGER.fine("New message: {0}", message);
         var cmd = message.command();
         // since motion messages received more often than any other we process them first
         if (Objects.equals(cmd, CommandType.MOTION)) {
-            MOTIO1N_MESSAGE_COUNT_METER.add(1);
-            lastMotion.update(message);
+            processMotion(message);
             return;
         }
         var id = message.id();
@@ -68,57 +115,245 @@ public class MessageProcessor {
         }
     }
 
-    @SuppressWarnings({"rawtypes", "unchecked"})
-    private boolean processById(int id, String cmd, Message message) {
-        CompletableFuture future = pendingCommandsAwaitingResult.get(id);
-        boolean withoutResult = false;
-        if (future == null) {
-            withoutResult = true;
-            future = pendingCommandsAwaitingCompletion.get(id);
+    /**
+     * Process motion message which was already decoded
+     *
+     * @param fields see {@link MotionFields}
+     */
+    public void processMotion(double[] fields) {
+        MOTIO1N_MESSAGE_COUNT_METER.add(1, metricAttributes);
+        var receivedAt = System.nanoTime();
+        lastMotion.update(receivedAt, fields);
+        motionHistory.add(receivedAt, fields);
+        if (motionPublisher.hasSubscribers() || motionWaiters.hasWaiters()) {
+            var motion = lastMotion.get();
+            motionWaiters.test(motion);
+            motionPublisher.publish(motion);
+        }
+    }
+
+    private void processMotion(Message message) {
+        var fields = new double[MotionFields.COUNT];
+        try {
+            for (int i = 0; i < MotionFields.COUNT; i++) {
+                fields[i] = message.get(MotionFields.NAMES[i], Double.class);
+            }
+        } catch (Exception e) {
+            LOGGER.warning("Could not parse Motion message: {0}", e.getMessage());
+            LOGGER.fine(e);
+            return;
         }
-        if (future == null) return false;
-        var status =
-                message.find("stat", Double.class)
-                        .map(s -> CommandStatus.findOrCreate(s.intValue()))
-                        .orElse(null);
-        if (status == null) {
+        processMotion(fields);
+    }
+
+    /**
+     * Process status message which was already decoded
+     *
+     * @see StatusDecoder
+     */
+    public void processStatus(int id, int status) {
+        processStatus(id, CommandType.NONE, CommandStatus.findOrCreate(status));
+    }
+
+    private boolean processById(int id, String cmd, Message message) {
+        var stat = message.find("stat", Double.class);
+        if (stat.isPresent())
+            return processStatus(id, cmd, CommandStatus.findOrCreate(stat.get().intValue()));
+        var command = pendingCommandsById.find(id);
+        if (command == null) return false;
+        if (command.awaitsResult()) {
             LOGGER.info("Command with id {0} result: {1}", id, message);
-            if (!withoutResult) future.complete(message);
-        } else if (status == CommandStatus.Predefined.COMPLETED.value()) {
-            LOGGER.info("Command with id {0} completed: {1}", id, message);
-            if (withoutResult) future.complete(null);
+            command.future().complete(message);
+        }
+        return true;
+    }
+
+    private boolean processStatus(int id, String cmd, CommandStatus status) {
+        var command = pendingCommandsById.find(id);
+        if (command == null) return false;
+        if (status == CommandStatus.Predefined.COMPLETED.value()) {
+            LOGGER.info("Command with id {0} completed", id);
+            if (!command.awaitsResult()) command.future().complete(null);
         } else {
             LOGGER.info("Command with id {0} has status: {1}", id, status);
             if (status.isError())
-                future.completeExceptionally(
-                        new DornaClientException(
-                                "Command " + cmd + " failed with status " + status));
+                command.future()
+                        .completeExceptionally(
+                                new DornaClientException(
+                                        "Command " + cmd + " failed with status " + status));
         }
         return true;
     }
 
-    public Future<Message> awaitResult(int id) {
+    /**
+     * Await result message of the command. Result message is received after command completion
+     * status.
+     *
+     * @see PendingCommands#awaitResult(int, String, String)
+     */
+    public CompletableFuture<Message> awaitResult(int id, String command, String frame) {
         LOGGER.info("Awaiting result for command with id {0}", id);
-        var future = new CompletableFuture<Message>();
-        pendingCommandsAwaitingResult.put(id, future);
-        return future;
+        return pendingCommandsById.awaitResult(id, command, frame);
     }
 
-    public CompletableFuture<Void> awaitCompletion(int id) {
+    /**
+     * @see PendingCommands#awaitCompletion(int, String, String)
+     */
+    public CompletableFuture<Void> awaitCompletion(int id, String command, String frame) {
         LOGGER.info("Awaiting completion for command with id {0}", id);
-        var future = new CompletableFuture<Void>();
-        pendingCommandsAwaitingCompletion.put(id, future);
-        return future;
+        return pendingCommandsById.awaitCompletion(id, command, frame);
+    }
+
+    /** Check if the given command type (see {@link CommandType}) moves the robot */
+    public static boolean isMotion(String command) {
+        return MOTION_COMMANDS.contains(command);
     }
 
-    public Future<Message> await(String command) {
+    /**
+     * Cancel all pending commands which move the robot
+     *
+     * @return number of cancelled commands
+     */
+    public int cancelMotions() {
+        return pendingCommandsById.cancel(command -> isMotion(command.command()));
+    }
+
+    /**
+     * Await message for the command which does not have any id.
+     *
+     * <p>Messages of such commands cannot be matched with the requests which caused them, so
+     * concurrent callers awaiting the same command share the first message which arrives.
+     *
+     * <p>Each caller receives its own future, so that it can be failed or cancelled (for example by
+     * the command timeout) without affecting the other callers. Command stops being awaited once
+     * none of its callers is waiting for it.
+     */
+    public CompletableFuture<Message> await(String command) {
         LOGGER.info("Awaiting message for command {0}", command);
-        var future = new CompletableFuture<Message>();
-        pendingCommands.put(command, future);
-        return future;
+        var caller = new CompletableFuture<Message>();
+        CompletableFuture<Message> future;
+        synchronized (pendingCommands) {
+            future = pendingCommands.get(command);
+            // completed command may not be removed yet
+            if (future == null || future.isDone()) {
+                var newFuture = new CompletableFuture<Message>();
+                future = newFuture;
+                pendingCommands.put(command, newFuture);
+                awaitedCallers.put(newFuture, Collections.newSetFromMap(new IdentityHashMap<>()));
+                newFuture.whenComplete((r, e) -> evict(command, newFuture));
+            }
+            awaitedCallers.get(future).add(caller);
+        }
+        future.whenComplete(
+                (r, e) -> {
+                    if (e == null) caller.complete(r);
+                    else caller.completeExceptionally(e);
+                });
+        var shared = future;
+        caller.whenComplete((r, e) -> release(command, shared, caller));
+        return caller;
+    }
+
+    private void release(
+            String command, CompletableFuture<Message> future, CompletableFuture<Message> caller) {
+        synchronized (pendingCommands) {
+            var callers = awaitedCallers.get(future);
+            if (callers == null) return;
+            callers.remove(caller);
+            if (!callers.isEmpty()) return;
+            LOGGER.fine("Command {0} is not awaited anymore", command);
+            evict(command, future);
+        }
+    }
+
+    private void evict(String command, CompletableFuture<Message> future) {
+        synchronized (pendingCommands) {
+            pendingCommands.remove(command, future);
+            awaitedCallers.remove(future);
+        }
+    }
+
+    /**
+     * Check if the future belongs to the command without id which is awaiting its message
+     *
+     * @param future future returned by {@link #await(String)} or one of {@link
+     *     #getAwaitedCommands()}
+     */
+    public boolean isAwaited(CompletableFuture<?> future) {
+        synchronized (pendingCommands) {
+            if (awaitedCallers.containsKey(future)) return true;
+            for (var callers : awaitedCallers.values()) {
+                if (callers.contains(future)) return true;
+            }
+            return false;
+        }
+    }
+
+    /** Futures returned by {@link #await(String)} for the given command which still wait for it */
+    public Set<CompletableFuture<Message>> getAwaitedCallers(String command) {
+        synchronized (pendingCommands) {
+            var future = pendingCommands.get(command);
+            if (future == null) return Set.of();
+            var callers =
+                    Collections.newSetFromMap(
+                            new IdentityHashMap<CompletableFuture<Message>, Boolean>());
+            callers.addAll(awaitedCallers.getOrDefault(future, Set.of()));
+            return callers;
+        }
+    }
+
+    public PendingCommands getPendingCommands() {
+        return pendingCommandsById;
+    }
+
+    /** Commands without ids which are awaiting their messages */
+    public Map<String, CompletableFuture<Message>> getAwaitedCommands() {
+        return Collections.unmodifiableMap(pendingCommands);
+    }
+
+    /**
+     * Handler which is called when connection to the Command Server is lost, it receives the
+     * connection which was lost and the reason
+     */
+    public void setConnectionLostHandler(BiConsumer<WebSocket, String> handler) {
+        connectionLostHandler = handler;
+    }
+
+    /**
+     * @param webSocket connection which was lost
+     * @param reason description of why connection was lost
+     */
+    public void processConnectionLost(WebSocket webSocket, String reason) {
+        connectionLostHandler.accept(webSocket, reason);
     }
 
     public Motion getLastMotion() {
         return lastMotion.get();
     }
+
+    public void getLastMotion(MotionSnapshot snapshot) {
+        lastMotion.read(snapshot);
+    }
+
+    public MotionHistory getMotionHistory() {
+        return motionHistory;
+    }
+
+    /**
+     * @see MotionWaiters
+     */
+    public CompletableFuture<Motion> awaitMotion(Predicate<Motion> predicate, Duration timeout) {
+        return motionWaiters.await(
+                predicate, timeout, () -> lastMotion.hasMotion() ? lastMotion.get() : null);
+    }
+
+    public MotionPublisher getMotionPublisher() {
+        return motionPublisher;
+    }
+
+    @Override
+    public void close() {
+        motionWaiters.close();
+        motionPublisher.close();
+    }
 }
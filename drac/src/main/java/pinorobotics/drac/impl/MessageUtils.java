@@ -32,7 +32,7 @@ import java.util.regex.Pattern;
 public class MessageUtils {
     private static final XLogger LOGGER = XLogger.getLogger(MessageUtils.class);
     private static final ObjectMapper MAPPER = new ObjectMapper();
-    private static final String REGEXP_ID = "\"id\"\\s*:\\s*\\d+";
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*\\d+");
     private static volatile Entry<String, Message> cached = Map.entry("", new Message());
 
     public static Optional<Message> parse(String jsonMessage) {
@@ -52,11 +52,25 @@ public class MessageUtils {
 
     /** Set new or replace any existing id */
     public static String setId(String jsonMessage, int id) {
-        var m = Pattern.compile(REGEXP_ID).matcher(jsonMessage);
+        var parts = splitAtId(jsonMessage);
+        return parts[0] + id + parts[1];
+    }
+
+    /**
+     * Split message into two parts so that message with any id can be obtained as parts[0] + id +
+     * parts[1]. Any existing id is removed.
+     */
+    public static String[] splitAtId(String jsonMessage) {
+        var m = ID_PATTERN.matcher(jsonMessage);
         if (m.find()) {
-            return m.replaceAll("\"id\":" + id);
+            return new String[] {
+                jsonMessage.substring(0, m.start()) + "\"id\":", jsonMessage.substring(m.end())
+            };
         } else {
-            return jsonMessage.replace("{", "{\"id\":" + id + ",");
+            var pos = jsonMessage.indexOf('{') + 1;
+            return new String[] {
+                jsonMessage.substring(0, pos) + "\"id\":", "," + jsonMessage.substring(pos)
+            };
         }
     }
 }
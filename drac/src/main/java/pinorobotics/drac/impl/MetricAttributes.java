@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import pinorobotics.drac.DornaClientConfig;
+import pinorobotics.drac.metrics.DracMetrics;
+
+/**
+ * Attributes which are added to the metrics of each client
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MetricAttributes {
+    private static final AttributeKey<String> ARM_ATTRIBUTE =
+            AttributeKey.stringKey(DracMetrics.ARM_ATTRIBUTE);
+
+    public static Attributes of(DornaClientConfig config) {
+        return config.armName()
+                .map(name -> Attributes.of(ARM_ATTRIBUTE, name))
+                .orElse(Attributes.empty());
+    }
+}
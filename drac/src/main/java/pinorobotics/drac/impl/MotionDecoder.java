@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import pinorobotics.drac.CommandType;
+
+/**
+ * Decodes motion messages directly into primitive arrays without building intermediate {@link
+ * Message}.
+ *
+ * <p>Motion messages are received more often than any other messages so they are decoded on a
+ * separate path. All other messages are expected to go through {@link MessageUtils#parse(String)}.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MotionDecoder {
+    private static final int ALL_FIELDS = (1 << MotionFields.COUNT) - 1;
+    private final JsonFrameReader reader = new JsonFrameReader();
+
+    /**
+     * @param out array where decoded fields are stored (see {@link MotionFields}). It may be
+     *     modified even when frame turns out not to be a motion message.
+     * @return true if frame is a motion message and all its fields were decoded
+     */
+    public boolean decode(CharSequence json, double[] out) {
+        if (!reader.reset(json)) return false;
+        int found = 0;
+        int expected = 0;
+        boolean isMotion = false;
+        while (reader.nextField()) {
+            // Command Server always sends fields in the same order so we check expected one first
+            int field =
+                    expected < MotionFields.COUNT && reader.isKey(MotionFields.NAMES[expected])
+                            ? expected
+                            : findField();
+            if (field >= 0) {
+                out[field] = reader.readNumber();
+                found |= 1 << field;
+                expected = field + 1;
+            } else if (reader.isKey("cmd")) {
+                if (!reader.isStringValue(CommandType.MOTION)) return false;
+                isMotion = true;
+            } else {
+                return false;
+            }
+        }
+        return isMotion && found == ALL_FIELDS && !reader.isMalformed();
+    }
+
+    private int findField() {
+        for (int i = 0; i < MotionFields.COUNT; i++) {
+            if (reader.isKey(MotionFields.NAMES[i])) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+/**
+ * Layout of motion message fields when they are stored inside primitive arrays.
+ *
+ * <p>Order is the same as the order of fields inside motion messages sent by the Command Server.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public interface MotionFields {
+    int J0 = 0;
+    int J1 = 1;
+    int J2 = 2;
+    int J3 = 3;
+    int J4 = 4;
+    int J5 = 5;
+    int J6 = 6;
+    int J7 = 7;
+    int X = 8;
+    int Y = 9;
+    int Z = 10;
+    int A = 11;
+    int B = 12;
+    int C = 13;
+    int D = 14;
+    int E = 15;
+    int VEL = 16;
+    int ACCEL = 17;
+
+    /** Total number of fields */
+    int COUNT = 18;
+
+    /** Names of the fields as they appear inside motion messages */
+    String[] NAMES = {
+        "j0", "j1", "j2", "j3", "j4", "j5", "j6", "j7", "x", "y", "z", "a", "b", "c", "d", "e",
+        "vel", "accel"
+    };
+}
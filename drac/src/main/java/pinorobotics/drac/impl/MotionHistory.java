@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import java.lang.invoke.VarHandle;
+import pinorobotics.drac.messages.MotionSamples;
+import pinorobotics.drac.messages.MotionSnapshot;
+
+/**
+ * Bounded ring buffer of motion samples ordered by the time they were received.
+ *
+ * <p>Samples are stored as struct-of-arrays of primitives so that keeping long history does not
+ * create any objects per sample.
+ *
+ * <p>There can be only one writer thread. Readers do not block the writer: they copy samples and
+ * then check if the writer did not overwrite them in the meantime, retrying when it did.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MotionHistory {
+    private final int capacity;
+    private final long[] timestamps;
+    private final double[][] columns;
+
+    /** Number of samples which writer started to write */
+    private volatile long started;
+
+    /** Number of samples which were completely written */
+    private volatile long written;
+
+    /**
+     * @param capacity maximum number of samples to keep, 0 disables the history
+     */
+    public MotionHistory(int capacity) {
+        this.capacity = capacity;
+        timestamps = new long[capacity];
+        columns = new double[MotionFields.COUNT][capacity];
+    }
+
+    /**
+     * @param receivedAt time in {@link System#nanoTime()} units. Must not decrease between the
+     *     calls.
+     * @param fields see {@link MotionFields}
+     */
+    public void add(long receivedAt, double[] fields) {
+        if (capacity == 0) return;
+        var n = written;
+        started = n + 1;
+        // make sure that slot is not updated before readers can see that it is being overwritten
+        VarHandle.storeStoreFence();
+        var slot = (int) (n % capacity);
+        timestamps[slot] = receivedAt;
+        for (int i = 0; i < MotionFields.COUNT; i++) {
+            columns[i][slot] = fields[i];
+        }
+        written = n + 1;
+    }
+
+    /**
+     * Find latest sample which was received at or before the given time.
+     *
+     * @return false if there is no such sample in the history
+     */
+    public boolean getAt(long time, MotionSnapshot out) {
+        if (capacity == 0) return false;
+        while (true) {
+            var last = written - 1;
+            var index = findAtOrBefore(time, last);
+            if (index < 0) {
+                if (isValid(last)) return false;
+                continue;
+            }
+            copy(index, out);
+            if (isValid(last)) return true;
+        }
+    }
+
+    /**
+     * Linearly interpolate motion at the given time using two closest samples.
+     *
+     * @return false if time is outside of the history
+     */
+    public boolean interpolate(long time, MotionSnapshot out) {
+        if (capacity == 0) return false;
+        var values = out.values();
+        while (true) {
+            var last = written - 1;
+            var index = findAtOrBefore(time, last);
+            if (index < 0) {
+                if (isValid(last)) return false;
+                continue;
+            }
+            var slot = (int) (index % capacity);
+            var t0 = timestamps[slot];
+            if (t0 == time) {
+                copy(index, out);
+                if (isValid(last)) return true;
+                continue;
+            }
+            if (index == last) {
+                // time is after the most recent sample and we do not extrapolate
+                if (isValid(last)) return false;
+                continue;
+            }
+            var nextSlot = (int) ((index + 1) % capacity);
+            var t1 = timestamps[nextSlot];
+            var ratio = (double) (time - t0) / (t1 - t0);
+            for (int i = 0; i < MotionFields.COUNT; i++) {
+                var v0 = columns[i][slot];
+                values[i] = v0 + (columns[i][nextSlot] - v0) * ratio;
+            }
+            out.receivedAt(time);
+            if (isValid(last)) return true;
+        }
+    }
+
+    /**
+     * Copy samples received within [from, to] time range into the given buffer. If there are more
+     * samples than buffer can hold then only the oldest ones are copied.
+     *
+     * @return number of copied samples
+     */
+    public int getRange(long from, long to, MotionSamples out) {
+        if (capacity == 0) {
+            out.setSize(0);
+            return 0;
+        }
+        var outTimestamps = out.timestamps();
+        var outColumns = out.columns();
+        while (true) {
+            var last = written - 1;
+            var index = findAtOrBefore(from, last);
+            if (index < 0) index = oldest(last);
+            else if (timestamps[(int) (index % capacity)] < from) index++;
+            var count = 0;
+            for (; index <= last && count < out.capacity(); index++, count++) {
+                var slot = (int) (index % capacity);
+                var t = timestamps[slot];
+                if (t > to) break;
+                outTimestamps[count] = t;
+                for (int i = 0; i < MotionFields.COUNT; i++) {
+                    outColumns[i][count] = columns[i][slot];
+                }
+            }
+            if (isValid(last)) {
+                out.setSize(count);
+                return count;
+            }
+        }
+    }
+
+    /**
+     * Binary search of the latest sample received at or before given time.
+     *
+     * @return sample index or -1 if all samples are newer (or history is empty)
+     */
+    private long findAtOrBefore(long time, long last) {
+        long lo = oldest(last), hi = last, result = -1;
+        while (lo <= hi) {
+            var mid = (lo + hi) >>> 1;
+            if (timestamps[(int) (mid % capacity)] - time <= 0) {
+                result = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    private long oldest(long last) {
+        // skip one extra slot which may be overwritten by the writer right now
+        return Math.max(0, last - capacity + 2);
+    }
+
+    private void copy(long index, MotionSnapshot out) {
+        var slot = (int) (index % capacity);
+        var values = out.values();
+        for (int i = 0; i < MotionFields.COUNT; i++) {
+            values[i] = columns[i][slot];
+        }
+        out.receivedAt(timestamps[slot]);
+    }
+
+    /**
+     * Check that none of the samples which were available for reading (up to the given last one)
+     * was overwritten while they were read
+     */
+    private boolean isValid(long last) {
+        // make sure that samples are read before we check the writer progress
+        VarHandle.loadLoadFence();
+        return started <= oldest(last) + capacity;
+    }
+}
@@ -17,51 +17,107 @@
  */
 package pinorobotics.drac.impl;
 
-import id.xfunction.logging.XLogger;
-import java.util.Objects;
+import java.lang.invoke.VarHandle;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import pinorobotics.drac.exceptions.DornaClientException;
 import pinorobotics.drac.messages.Motion;
+import pinorobotics.drac.messages.MotionSnapshot;
 
 /**
+ * Holds last motion message received from the Command Server.
+ *
+ * <p>Motion fields are stored inside primitive array guarded by a sequence lock: writer makes
+ * sequence number odd while it updates the fields and readers retry if sequence number changed
+ * during the read. This allows many threads to read motion without locks and without any
+ * allocations.
+ *
+ * <p>There can be only one writer thread (the one which receives messages from the Command Server).
+ *
  * @author lambdaprime intid@protonmail.com
  */
 public class MotionHolder {
-    private static final XLogger LOGGER = XLogger.getLogger(MotionHolder.class);
-    private Message previousMessage = new Message();
     private CompletableFuture<Void> ready = new CompletableFuture<>();
-    private Motion motion = new Motion();
+    private final double[] fields = new double[MotionFields.COUNT];
+    private long receivedAt;
 
-    public void update(Message message) {
-        if (Objects.equals(message, previousMessage)) return;
-        try {
-            motion =
-                    new Motion(
-                            message.joints(),
-                            message.get("x", Double.class),
-                            message.get("y", Double.class),
-                            message.get("z", Double.class),
-                            message.get("a", Double.class),
-                            message.get("b", Double.class),
-                            message.get("c", Double.class),
-                            message.get("d", Double.class),
-                            message.get("e", Double.class),
-                            message.get("vel", Double.class),
-                            message.get("accel", Double.class));
-            ready.complete(null);
-        } catch (Exception e) {
-            LOGGER.warning("Could not parse Motion message: {0}", e.getMessage());
-            LOGGER.fine(e);
+    /** Even when fields are stable, odd when they are being updated. Zero when no motion yet. */
+    private volatile long seq;
+
+    private volatile CachedMotion cachedMotion = new CachedMotion(0, new Motion());
+
+    private record CachedMotion(long seq, Motion motion) {}
+
+    /**
+     * @param receivedAt time in {@link System#nanoTime()} units
+     * @param fields see {@link MotionFields}
+     */
+    public void update(long receivedAt, double[] fields) {
+        var s = seq;
+        seq = s + 1;
+        // make sure that fields are not updated before sequence number becomes odd
+        VarHandle.storeStoreFence();
+        System.arraycopy(fields, 0, this.fields, 0, MotionFields.COUNT);
+        this.receivedAt = receivedAt;
+        seq = s + 2;
+        if (s == 0) ready.complete(null);
+    }
+
+    /**
+     * Copy last motion into the given array.
+     *
+     * <p>Blocks until first motion message is received.
+     *
+     * @param out see {@link MotionFields}
+     * @return sequence number of the motion which was read
+     */
+    public long read(double[] out) {
+        return read(out, null);
+    }
+
+    public void read(MotionSnapshot snapshot) {
+        read(snapshot.values(), snapshot);
+    }
+
+    private long read(double[] out, MotionSnapshot snapshot) {
+        awaitReady();
+        while (true) {
+            var s = seq;
+            if ((s & 1) == 0) {
+                System.arraycopy(fields, 0, out, 0, MotionFields.COUNT);
+                var receivedAt = this.receivedAt;
+                // make sure that fields are read before sequence number is checked again
+                VarHandle.loadLoadFence();
+                if (s == seq) {
+                    if (snapshot != null) snapshot.receivedAt(receivedAt);
+                    return s;
+                }
+            }
+            Thread.onSpinWait();
         }
     }
 
+    /** Whether at least one motion message was received */
+    public boolean hasMotion() {
+        return seq != 0;
+    }
+
     public Motion get() {
+        var cached = cachedMotion;
+        if (cached.seq() != 0 && cached.seq() == seq) return cached.motion();
+        var snapshot = new MotionSnapshot();
+        var s = read(snapshot.values());
+        var motion = snapshot.toMotion();
+        cachedMotion = new CachedMotion(s, motion);
+        return motion;
+    }
+
+    private void awaitReady() {
+        if (seq != 0) return;
         try {
             ready.get();
         } catch (InterruptedException | ExecutionException e) {
             throw new DornaClientException(e);
         }
-        return motion;
     }
 }
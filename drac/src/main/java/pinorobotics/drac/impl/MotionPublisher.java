@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.api.common.Attributes;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import pinorobotics.drac.MotionSubscriptionPolicy;
+import pinorobotics.drac.messages.Motion;
+
+/**
+ * Publishes motion messages to all subscribers.
+ *
+ * <p>Similar to {@link java.util.concurrent.SubmissionPublisher} messages are delivered
+ * asynchronously but each subscriber has its own {@link MotionSubscriptionPolicy}.
+ *
+ * <p>By default messages are delivered from the virtual threads owned by the publisher, one
+ * subscription is served by one thread at a time. Subscriber which blocks delays only its own
+ * messages, not the other subscribers or the tasks which run in {@link
+ * java.util.concurrent.ForkJoinPool#commonPool()} (completion of the client commands, etc). Threads
+ * are released when publisher is closed.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MotionPublisher implements AutoCloseable {
+    private static final XLogger LOGGER = XLogger.getLogger(MotionPublisher.class);
+    private final CopyOnWriteArrayList<MotionSubscription> subscriptions =
+            new CopyOnWriteArrayList<>();
+    private final Executor executor;
+    private final Optional<ExecutorService> ownedExecutor;
+    private final Attributes metricAttributes;
+    private volatile boolean isClosed;
+
+    public MotionPublisher() {
+        this(Attributes.empty());
+    }
+
+    /**
+     * @param metricAttributes attributes of the client (see {@link MetricAttributes})
+     */
+    public MotionPublisher(Attributes metricAttributes) {
+        this(metricAttributes, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * @param executor executor which delivers messages to subscribers, it is not closed by the
+     *     publisher
+     */
+    public MotionPublisher(Executor executor) {
+        this(executor, Attributes.empty());
+    }
+
+    /**
+     * @see #MotionPublisher(Executor)
+     */
+    public MotionPublisher(Executor executor, Attributes metricAttributes) {
+        this.executor = executor;
+        this.ownedExecutor = Optional.empty();
+        this.metricAttributes = metricAttributes;
+    }
+
+    private MotionPublisher(Attributes metricAttributes, ExecutorService executor) {
+        this.executor = executor;
+        this.ownedExecutor = Optional.of(executor);
+        this.metricAttributes = metricAttributes;
+    }
+
+    public Flow.Publisher<Motion> publisher(MotionSubscriptionPolicy policy) {
+        return subscriber -> subscribe(subscriber, policy);
+    }
+
+    /** Allows to avoid creating {@link Motion} messages when nobody is going to receive them */
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    public void publish(Motion motion) {
+        for (var subscription : subscriptions) {
+            subscription.offer(motion);
+        }
+    }
+
+    /**
+     * Complete all subscriptions. Messages which are already buffered are still delivered but
+     * publisher does not wait for it.
+     */
+    @Override
+    public void close() {
+        isClosed = true;
+        subscriptions.forEach(MotionSubscription::complete);
+        ownedExecutor.ifPresent(ExecutorService::shutdown);
+    }
+
+    private void subscribe(
+            Flow.Subscriber<? super Motion> subscriber, MotionSubscriptionPolicy policy) {
+        LOGGER.fine("New motion subscriber with policy {0}", policy);
+        var subscription =
+                new MotionSubscription(
+                        subscriber, policy, executor, metricAttributes, subscriptions::remove);
+        subscriptions.add(subscription);
+        subscriber.onSubscribe(subscription);
+        if (isClosed) subscription.complete();
+    }
+}
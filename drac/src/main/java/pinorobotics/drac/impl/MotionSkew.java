@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import pinorobotics.drac.DornaClient;
+import pinorobotics.drac.messages.Motion;
+import pinorobotics.drac.metrics.DracMetrics;
+
+/**
+ * Measures how far apart in time multiple arms started moving after they were released together.
+ *
+ * <p>Measurement is started right before the arms are released. For each arm it waits (see {@link
+ * DornaClient#awaitMotionAsync(Predicate, Duration)}) for the first motion message with joints
+ * different from the ones arm had at the release time. Time when such message is received is the
+ * start of the movement of the arm. Skew is recorded as soon as all arms started moving, so it does
+ * not depend on the motion history. Precision is limited by the rate of motion messages sent by the
+ * Command Server.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MotionSkew {
+    private static final XLogger LOGGER = XLogger.getLogger(MotionSkew.class);
+    private static final Meter METER =
+            GlobalOpenTelemetry.getMeter(MotionSkew.class.getSimpleName());
+    private static final LongHistogram SYNC_SKEW_METER =
+            METER.histogramBuilder(DracMetrics.SYNC_SKEW_METRIC)
+                    .setDescription(DracMetrics.SYNC_SKEW_METRIC_DESCRIPTION)
+                    .ofLongs()
+                    .build();
+
+    /** Joint changes below this value (in degrees) are not considered as movement */
+    private static final double MOVEMENT_THRESHOLD = 0.01;
+
+    /** Waiting is stopped by {@link #stop()}, timeout only guards against it never being called */
+    private static final Duration MAX_WAIT = Duration.ofDays(1);
+
+    /** Detects start of the movement of one arm */
+    private static class MovementStart implements Predicate<Motion> {
+        private double[] pose;
+        private volatile long startedAt;
+
+        /**
+         * Pose of the arm is taken from the first motion it is tested with, which is the last
+         * motion received before the release unless arm did not receive any yet
+         */
+        @Override
+        public synchronized boolean test(Motion motion) {
+            var joints = motion.joints().toArray();
+            if (pose == null) {
+                pose = joints;
+                return false;
+            }
+            for (int j = 0; j < joints.length; j++) {
+                if (Math.abs(joints[j] - pose[j]) > MOVEMENT_THRESHOLD) {
+                    startedAt = System.nanoTime();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean isStarted() {
+            return startedAt != 0;
+        }
+    }
+
+    private final Map<String, MovementStart> starts = new LinkedHashMap<>();
+    private final List<CompletableFuture<Motion>> futures = new ArrayList<>();
+    private final AtomicBoolean isRecorded = new AtomicBoolean();
+
+    /**
+     * Start measuring, should be called right before the arms are released
+     *
+     * @param clients clients of the arms by their names
+     */
+    public MotionSkew(Map<String, DornaClient> clients) {
+        clients.forEach(
+                (name, client) -> {
+                    var start = new MovementStart();
+                    starts.put(name, start);
+                    futures.add(
+                            client.awaitMotionAsync(start, MAX_WAIT)
+                                    .whenComplete((r, e) -> recordIfStarted()));
+                });
+    }
+
+    private void recordIfStarted() {
+        if (!isAllStarted() || !isRecorded.compareAndSet(false, true)) return;
+        SYNC_SKEW_METER.record(getSkew() / 1_000);
+    }
+
+    private boolean isAllStarted() {
+        return starts.values().stream().allMatch(MovementStart::isStarted);
+    }
+
+    private long getSkew() {
+        var min = Long.MAX_VALUE;
+        var max = Long.MIN_VALUE;
+        for (var start : starts.values()) {
+            min = Math.min(min, start.startedAt);
+            max = Math.max(max, start.startedAt);
+        }
+        return max - min;
+    }
+
+    /**
+     * Stop waiting for the arms which did not start moving yet, should be called once arms
+     * completed their movement. If skew cannot be measured because some of the arms did not move,
+     * it is logged and nothing is recorded.
+     *
+     * @return skew in nanos or -1 if some of the arms did not move
+     */
+    public long stop() {
+        futures.forEach(future -> future.cancel(false));
+        if (!isAllStarted()) {
+            var notStarted =
+                    starts.entrySet().stream()
+                            .filter(e -> !e.getValue().isStarted())
+                            .map(Map.Entry::getKey)
+                            .toList();
+            LOGGER.warning("Skew cannot be measured, arms {0} did not move", notStarted);
+            return -1;
+        }
+        recordIfStarted();
+        return getSkew();
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import pinorobotics.drac.MotionSubscriptionPolicy;
+import pinorobotics.drac.exceptions.DornaClientException;
+import pinorobotics.drac.messages.Motion;
+import pinorobotics.drac.metrics.DracMetrics;
+
+/**
+ * Subscription of a single subscriber to motion messages.
+ *
+ * <p>Messages are offered by the thread which receives them from the Command Server and delivered
+ * to the subscriber from the executor, so the offering thread never waits for the subscriber.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MotionSubscription implements Flow.Subscription {
+    private static final XLogger LOGGER = XLogger.getLogger(MotionSubscription.class);
+    private static final Meter METER =
+            GlobalOpenTelemetry.getMeter(MotionSubscription.class.getSimpleName());
+    private static final LongCounter MOTION_DROPPED_COUNT_METER =
+            METER.counterBuilder(DracMetrics.MOTION_DROPPED_COUNT_METRIC)
+                    .setDescription(DracMetrics.MOTION_DROPPED_COUNT_METRIC_DESCRIPTION)
+                    .build();
+
+    private final Flow.Subscriber<? super Motion> subscriber;
+    private final MotionSubscriptionPolicy policy;
+    private final Executor executor;
+    private final Consumer<MotionSubscription> onCancel;
+    private final Attributes metricAttributes;
+    private final Queue<Motion> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicReference<Motion> latest = new AtomicReference<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final long periodNanos;
+    private long lastAcceptedAt;
+    private volatile boolean isCancelled;
+    private volatile boolean isCompleted;
+    private volatile Throwable error;
+
+    public MotionSubscription(
+            Flow.Subscriber<? super Motion> subscriber,
+            MotionSubscriptionPolicy policy,
+            Executor executor,
+            Attributes metricAttributes,
+            Consumer<MotionSubscription> onCancel) {
+        this.subscriber = subscriber;
+        this.policy = policy;
+        this.executor = executor;
+        this.metricAttributes = metricAttributes;
+        this.onCancel = onCancel;
+        periodNanos = policy.period().toNanos();
+    }
+
+    /** Called only by the thread which receives messages from the Command Server */
+    public void offer(Motion motion) {
+        if (isCancelled) return;
+        switch (policy.type()) {
+            case ALL -> {
+                if (queueSize.incrementAndGet() > policy.bufferSize()) {
+                    queueSize.decrementAndGet();
+                    MOTION_DROPPED_COUNT_METER.add(1, metricAttributes);
+                    error =
+                            new DornaClientException(
+                                    "Subscriber is too slow: buffer of "
+                                            + policy.bufferSize()
+                                            + " motion messages is full");
+                } else {
+                    queue.offer(motion);
+                }
+            }
+            case LATEST -> {
+                if (latest.getAndSet(motion) != null)
+                    MOTION_DROPPED_COUNT_METER.add(1, metricAttributes);
+            }
+            case SAMPLED -> {
+                var now = System.nanoTime();
+                if (lastAcceptedAt != 0 && now - lastAcceptedAt < periodNanos) {
+                    MOTION_DROPPED_COUNT_METER.add(1, metricAttributes);
+                    return;
+                }
+                lastAcceptedAt = now;
+                if (latest.getAndSet(motion) != null)
+                    MOTION_DROPPED_COUNT_METER.add(1, metricAttributes);
+            }
+        }
+        drain();
+    }
+
+    /** Complete subscription once all buffered messages are delivered */
+    public void complete() {
+        isCompleted = true;
+        drain();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            error = new IllegalArgumentException("Number of requested messages should be positive");
+        } else {
+            requested.getAndAccumulate(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+        }
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        if (isCancelled) return;
+        isCancelled = true;
+        onCancel.accept(this);
+    }
+
+    private Motion poll() {
+        if (policy.type() == MotionSubscriptionPolicy.Type.ALL) {
+            var motion = queue.poll();
+            if (motion != null) queueSize.decrementAndGet();
+            return motion;
+        }
+        return latest.getAndSet(null);
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) return;
+        try {
+            executor.execute(this::drainLoop);
+        } catch (RejectedExecutionException e) {
+            // publisher is closed and nothing is going to be delivered anymore
+            LOGGER.fine("Motion delivery rejected: {0}", e.getMessage());
+        }
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        while (true) {
+            while (!isCancelled) {
+                if (error != null) {
+                    cancel();
+                    subscriber.onError(error);
+                    break;
+                }
+                if (requested.get() == 0) break;
+                var motion = poll();
+                if (motion == null) {
+                    if (isCompleted) {
+                        cancel();
+                        subscriber.onComplete();
+                    }
+                    break;
+                }
+                if (requested.get() != Long.MAX_VALUE) requested.decrementAndGet();
+                try {
+                    subscriber.onNext(motion);
+                } catch (Exception e) {
+                    LOGGER.severe("Motion subscriber failed, cancelling its subscription", e);
+                    cancel();
+                }
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) return;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import id.xfunction.logging.XLogger;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import pinorobotics.drac.exceptions.DornaClientException;
+import pinorobotics.drac.messages.Motion;
+
+/**
+ * Futures awaiting motion messages which satisfy certain predicate.
+ *
+ * <p>Predicates are evaluated by the thread which receives motion messages from the Command Server
+ * so futures are completed as soon as the matching message arrives. Waiters are removed once their
+ * futures are completed, cancelled or timed out.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MotionWaiters implements AutoCloseable {
+    private static final XLogger LOGGER = XLogger.getLogger(MotionWaiters.class);
+
+    private record Waiter(Predicate<Motion> predicate, CompletableFuture<Motion> future) {
+
+        void test(Motion motion) {
+            if (future.isDone()) return;
+            try {
+                if (predicate.test(motion)) future.complete(motion);
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private volatile boolean isClosed;
+
+    /** Allows to avoid creating {@link Motion} messages when nobody is going to receive them */
+    public boolean hasWaiters() {
+        return !waiters.isEmpty();
+    }
+
+    /**
+     * @param current supplies last received motion or null if there is none yet. If it satisfies
+     *     the predicate then returned future is completed immediately. It is called only after the
+     *     waiter is registered, so the motion which is received concurrently is either supplied or
+     *     tested by the receiving thread.
+     * @return future which fails with {@link java.util.concurrent.TimeoutException} if no matching
+     *     motion received within the timeout
+     */
+    public CompletableFuture<Motion> await(
+            Predicate<Motion> predicate, Duration timeout, Supplier<Motion> current) {
+        var future = new CompletableFuture<Motion>();
+        if (isClosed) {
+            future.completeExceptionally(new DornaClientException("Client is closed"));
+            return future;
+        }
+        var waiter = new Waiter(predicate, future);
+        waiters.add(waiter);
+        future.whenComplete((motion, e) -> waiters.remove(waiter));
+        // close could go through the waiters before this one was added
+        if (isClosed) {
+            future.completeExceptionally(new DornaClientException("Client is closed"));
+            return future;
+        }
+        future.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        var motion = current.get();
+        if (motion != null) waiter.test(motion);
+        LOGGER.fine("Number of motion waiters: {0}", waiters.size());
+        return future;
+    }
+
+    /** Called only by the thread which receives messages from the Command Server */
+    public void test(Motion motion) {
+        for (var waiter : waiters) {
+            waiter.test(motion);
+        }
+    }
+
+    @Override
+    public void close() {
+        isClosed = true;
+        for (var waiter : waiters) {
+            waiter.future().completeExceptionally(new DornaClientException("Client is closed"));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import id.xfunction.Preconditions;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongUpDownCounter;
+import io.opentelemetry.api.metrics.Meter;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import pinorobotics.drac.exceptions.DornaClientException;
+import pinorobotics.drac.metrics.DracMetrics;
+
+/**
+ * Registry of commands which were sent to the Command Server and are not completed yet.
+ *
+ * <p>Commands are stored in a ring indexed by their id, so registering and looking up a command
+ * does not allocate anything besides its future and does not require any locks. Command is removed
+ * from the registry as soon as its future is completed (successfully, with an error, cancelled or
+ * timed out).
+ *
+ * <p>Since ids are assigned sequentially, two pending commands can share the same slot only when
+ * one of them is older than capacity commands.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class PendingCommands {
+    private static final Meter METER =
+            GlobalOpenTelemetry.getMeter(PendingCommands.class.getSimpleName());
+    private static final LongUpDownCounter PENDING_COMMANDS_METER =
+            METER.upDownCounterBuilder(DracMetrics.PENDING_COMMANDS_METRIC)
+                    .setDescription(DracMetrics.PENDING_COMMANDS_METRIC_DESCRIPTION)
+                    .build();
+
+    /**
+     * @param command command type (see {@link pinorobotics.drac.CommandType})
+     * @param frame command as it was sent to the Command Server, used to resend it when connection
+     *     is restored (see {@link pinorobotics.drac.RecoveryPolicy})
+     * @param awaitsResult command is completed with the result message received after its
+     *     completion status (for example "joint" command), otherwise it is completed with its
+     *     completion status
+     */
+    public record Command(
+            int id,
+            String command,
+            String frame,
+            CompletableFuture<Object> future,
+            boolean awaitsResult) {}
+
+    private final AtomicReferenceArray<Command> slots;
+    private final int mask;
+    private final AtomicInteger size = new AtomicInteger();
+    private final Attributes metricAttributes;
+
+    /**
+     * @param capacity must be power of two
+     */
+    public PendingCommands(int capacity) {
+        this(capacity, Attributes.empty());
+    }
+
+    /**
+     * @param capacity must be power of two
+     * @param metricAttributes attributes of the client (see {@link MetricAttributes})
+     */
+    public PendingCommands(int capacity, Attributes metricAttributes) {
+        Preconditions.isTrue(Integer.bitCount(capacity) == 1, "Capacity should be power of two");
+        slots = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+        this.metricAttributes = metricAttributes;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public CompletableFuture<Message> awaitResult(int id, String command, String frame) {
+        return (CompletableFuture) register(id, command, frame, true);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public CompletableFuture<Void> awaitCompletion(int id, String command, String frame) {
+        return (CompletableFuture) register(id, command, frame, false);
+    }
+
+    private CompletableFuture<Object> register(
+            int id, String cmd, String frame, boolean awaitsResult) {
+        var future = new CompletableFuture<Object>();
+        var command = new Command(id, cmd, frame, future, awaitsResult);
+        var slot = id & mask;
+        if (!slots.compareAndSet(slot, null, command)) {
+            throw new DornaClientException(
+                    "Too many pending commands, slot of command with id "
+                            + id
+                            + " is still occupied by command with id "
+                            + slots.get(slot).id());
+        }
+        size.incrementAndGet();
+        PENDING_COMMANDS_METER.add(1, metricAttributes);
+        future.whenComplete((r, e) -> remove(command));
+        return future;
+    }
+
+    private void remove(Command command) {
+        if (slots.compareAndSet(command.id() & mask, command, null)) {
+            size.decrementAndGet();
+            PENDING_COMMANDS_METER.add(-1, metricAttributes);
+        }
+    }
+
+    /**
+     * @return pending command with the given id or null
+     */
+    public Command find(int id) {
+        var command = slots.get(id & mask);
+        if (command == null || command.id() != id) return null;
+        return command;
+    }
+
+    /**
+     * Cancel all pending commands which match the predicate.
+     *
+     * <p>Goes through all the slots of the registry so it is meant for rare events only.
+     *
+     * @return number of cancelled commands
+     */
+    public int cancel(Predicate<Command> predicate) {
+        var count = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            var command = slots.get(i);
+            if (command != null && predicate.test(command) && command.future().cancel(false))
+                count++;
+        }
+        return count;
+    }
+
+    /** Go through all pending commands, meant for rare events only */
+    public void forEach(Consumer<Command> consumer) {
+        for (int i = 0; i < slots.length(); i++) {
+            var command = slots.get(i);
+            if (command != null) consumer.accept(command);
+        }
+    }
+
+    /** Check if slot for the command with the given id is occupied by any other pending command */
+    public boolean isOccupied(int id) {
+        return slots.get(id & mask) != null;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    /** Number of pending commands */
+    public int size() {
+        return size.get();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import id.xfunction.logging.XLogger;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import pinorobotics.drac.CompiledScript;
+import pinorobotics.drac.DornaRobotModel;
+import pinorobotics.drac.exceptions.DornaClientException;
+
+/**
+ * Bounded cache of compiled scripts where least recently used scripts are evicted first.
+ *
+ * <p>Scripts are looked up either by their content or by the file they were read from. Files are
+ * identified by their path, size and last modification time so that any change to the file causes
+ * it to be compiled again.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ScriptCache {
+    private static final XLogger LOGGER = XLogger.getLogger(ScriptCache.class);
+
+    private record FileKey(Path path, FileTime lastModified, long size) {}
+
+    private final DornaRobotModel model;
+    private final Map<Object, CompiledScript> cache;
+
+    /**
+     * @param capacity maximum number of scripts to keep, 0 disables the cache
+     */
+    public ScriptCache(DornaRobotModel model, int capacity) {
+        this.model = model;
+        cache =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Object, CompiledScript> eldest) {
+                        return size() > capacity;
+                    }
+                };
+    }
+
+    public CompiledScript get(List<String> script) {
+        var compiled = find(script);
+        if (compiled != null) return compiled;
+        // copy the script so that later changes to the original list do not corrupt the key
+        script = List.copyOf(script);
+        compiled = CompiledScript.compile(script, model);
+        put(script, compiled);
+        return compiled;
+    }
+
+    public CompiledScript get(Path file) {
+        try {
+            file = file.toAbsolutePath();
+            var key = new FileKey(file, Files.getLastModifiedTime(file), Files.size(file));
+            var compiled = find(key);
+            if (compiled != null) return compiled;
+            compiled = CompiledScript.compile(Files.readAllLines(file), model);
+            put(key, compiled);
+            return compiled;
+        } catch (IOException e) {
+            throw new DornaClientException(e);
+        }
+    }
+
+    private synchronized CompiledScript find(Object key) {
+        return cache.get(key);
+    }
+
+    private synchronized void put(Object key, CompiledScript script) {
+        LOGGER.fine("Caching compiled script {0}", key instanceof FileKey k ? k.path() : "");
+        cache.put(key, script);
+    }
+}
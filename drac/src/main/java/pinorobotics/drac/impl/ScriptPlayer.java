@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import pinorobotics.drac.CompiledScript;
+
+/**
+ * Plays the script keeping up to window of its commands queued on the Command Server (see {@link
+ * WindowedSender}). When any of the commands fails robot is halted and play fails.
+ *
+ * <p>Script can be given in chunks which are requested only when their first command is about to be
+ * sent (see {@link ScriptReader}). If any of the chunks cannot be obtained, play fails same way as
+ * if the command failed.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ScriptPlayer extends WindowedSender {
+
+    private final Iterator<CompiledScript> chunks;
+    private CompiledScript chunk;
+
+    /** Next command of the current chunk */
+    private int next;
+
+    public ScriptPlayer(
+            CompiledScript script,
+            int window,
+            IdGenerator idGenerator,
+            MessageProcessor messageProc,
+            DracSocket webSocket,
+            Executor executor,
+            CommandTimeouts timeouts,
+            Supplier<CompletableFuture<Void>> halt) {
+        this(
+                List.of(script).iterator(),
+                window,
+                idGenerator,
+                messageProc,
+                webSocket,
+                executor,
+                timeouts,
+                halt);
+    }
+
+    public ScriptPlayer(
+            Iterator<CompiledScript> chunks,
+            int window,
+            IdGenerator idGenerator,
+            MessageProcessor messageProc,
+            DracSocket webSocket,
+            Executor executor,
+            CommandTimeouts timeouts,
+            Supplier<CompletableFuture<Void>> halt) {
+        super(window, idGenerator, messageProc, webSocket, executor, timeouts, halt);
+        this.chunks = chunks;
+    }
+
+    /**
+     * @return future which is completed when all commands of the script are completed
+     */
+    public CompletableFuture<Void> play() {
+        return start().thenApply(count -> null);
+    }
+
+    /** Move to the next command, taking next chunks if current one is over */
+    @Override
+    protected boolean hasNext() {
+        while (chunk == null || next == chunk.size()) {
+            if (!chunks.hasNext()) return false;
+            chunk = chunks.next();
+            next = 0;
+        }
+        return true;
+    }
+
+    @Override
+    protected Command next(int id) {
+        var index = next++;
+        return new Command(
+                chunk.commandType(index), CommandEncoder.get().script(chunk, index, id).toString());
+    }
+}
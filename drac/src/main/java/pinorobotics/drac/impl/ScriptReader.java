@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.GZIPInputStream;
+import pinorobotics.drac.CompiledScript;
+import pinorobotics.drac.DornaRobotModel;
+import pinorobotics.drac.exceptions.DornaClientException;
+
+/**
+ * Reads script file incrementally and compiles it in chunks of fixed number of lines, so that only
+ * one chunk is kept in memory at a time regardless of the size of the script.
+ *
+ * <p>Files compressed with gzip are detected by their header and decompressed on the fly.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ScriptReader implements Iterator<CompiledScript>, AutoCloseable {
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BufferedReader reader;
+    private final DornaRobotModel model;
+    private final int chunkSize;
+    private int lineNumber;
+    private CompiledScript next;
+    private boolean isEof;
+
+    /**
+     * @param chunkSize number of script lines compiled at once
+     */
+    public ScriptReader(Path file, DornaRobotModel model, int chunkSize) throws IOException {
+        this.model = model;
+        this.chunkSize = chunkSize;
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        try {
+            if (isGzip(in)) in = new GZIPInputStream(in, BUFFER_SIZE);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /** Check the header of the stream without consuming it */
+    private static boolean isGzip(InputStream in) throws IOException {
+        in.mark(2);
+        var magic = in.read() | (in.read() << 8);
+        in.reset();
+        return magic == GZIP_MAGIC;
+    }
+
+    /** Check if file is compressed with gzip */
+    public static boolean isGzip(Path file) throws IOException {
+        try (var in = new BufferedInputStream(Files.newInputStream(file))) {
+            return isGzip(in);
+        }
+    }
+
+    /**
+     * @throws DornaClientException if file cannot be read or next chunk of the script is not valid
+     */
+    @Override
+    public boolean hasNext() {
+        if (next != null) return true;
+        if (isEof) return false;
+        var firstLineNumber = lineNumber + 1;
+        var lines = new ArrayList<String>(chunkSize);
+        try {
+            String line;
+            while (lines.size() < chunkSize && (line = reader.readLine()) != null) {
+                lines.add(line);
+                lineNumber++;
+            }
+        } catch (IOException e) {
+            throw new DornaClientException(e);
+        }
+        if (lines.size() < chunkSize) isEof = true;
+        if (lines.isEmpty()) return false;
+        next = CompiledScript.compile(lines, firstLineNumber, model);
+        return true;
+    }
+
+    @Override
+    public CompiledScript next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        var chunk = next;
+        next = null;
+        return chunk;
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new DornaClientException(e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import id.xfunction.Preconditions;
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableLongGauge;
+import java.net.http.HttpClient;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import pinorobotics.drac.metrics.DracMetrics;
+
+/**
+ * {@link HttpClient} shared by all connections to the Command Servers.
+ *
+ * <p>Each {@link HttpClient} owns selector thread and, unless executor is provided, its own thread
+ * pool. Sharing one of them allows to connect to many Dorna arms without keeping idle threads for
+ * each of them.
+ *
+ * <p>Users of the client acquire it before opening any connections and release it when all of them
+ * are closed. {@link HttpClient} is created lazily when first connection is opened and it is shut
+ * down when it is released by the last user.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class SharedHttpClient {
+    private static final XLogger LOGGER = XLogger.getLogger(SharedHttpClient.class);
+    private static final Meter METER =
+            GlobalOpenTelemetry.getMeter(SharedHttpClient.class.getSimpleName());
+
+    /** JDK names all threads of {@link HttpClient} starting with this prefix */
+    private static final String THREAD_NAME_PREFIX = "HttpClient-";
+
+    @SuppressWarnings("unused")
+    private static final ObservableLongGauge HTTP_CLIENT_THREADS_METER =
+            METER.gaugeBuilder(DracMetrics.HTTP_CLIENT_THREADS_METRIC)
+                    .setDescription(DracMetrics.HTTP_CLIENT_THREADS_METRIC_DESCRIPTION)
+                    .ofLongs()
+                    .buildWithCallback(m -> m.record(countHttpClientThreads()));
+
+    private static final SharedHttpClient DEFAULT = new SharedHttpClient(Optional.empty());
+
+    private final Optional<Executor> executor;
+    private HttpClient client;
+    private int refCount;
+
+    /**
+     * @param executor executor for {@link HttpClient} tasks, by default each {@link HttpClient}
+     *     creates its own thread pool
+     */
+    public SharedHttpClient(Optional<Executor> executor) {
+        this.executor = executor;
+    }
+
+    /** Client which uses default executor and is shared by everyone who did not provide any */
+    public static SharedHttpClient getDefault() {
+        return DEFAULT;
+    }
+
+    /** Register new user of the client */
+    public synchronized void acquire() {
+        refCount++;
+    }
+
+    /**
+     * @return {@link HttpClient} which is valid until the caller releases it
+     */
+    public synchronized HttpClient get() {
+        Preconditions.isTrue(refCount > 0, "HttpClient should be acquired first");
+        if (client == null) {
+            LOGGER.fine("Creating new HttpClient");
+            var builder = HttpClient.newBuilder();
+            executor.ifPresent(builder::executor);
+            client = builder.build();
+        }
+        return client;
+    }
+
+    /** Release the client and shut it down if there are no other users left */
+    public synchronized void release() {
+        Preconditions.isTrue(refCount > 0, "HttpClient is not acquired");
+        refCount--;
+        if (refCount > 0 || client == null) return;
+        LOGGER.fine("Shutting down HttpClient");
+        // does not wait for connections which are still closing
+        client.shutdown();
+        client = null;
+    }
+
+    /** Number of current users */
+    public synchronized int getRefCount() {
+        return refCount;
+    }
+
+    private static long countHttpClientThreads() {
+        var group = Thread.currentThread().getThreadGroup();
+        while (group.getParent() != null) group = group.getParent();
+        var threads = new Thread[group.activeCount() * 2];
+        var count = group.enumerate(threads);
+        var result = 0;
+        for (int i = 0; i < count; i++) {
+            if (threads[i].getName().startsWith(THREAD_NAME_PREFIX)) result++;
+        }
+        return result;
+    }
+}
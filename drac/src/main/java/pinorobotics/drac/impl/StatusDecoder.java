@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+/**
+ * Recognizes command status messages which consist only of "id" and "stat" fields:
+ *
+ * <pre>{@code
+ * { "id" : 2, "stat" : 1.000000}
+ * }</pre>
+ *
+ * <p>Such messages are sent by the Command Server several times for each command and so they are
+ * decoded without building intermediate {@link Message}.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class StatusDecoder {
+    private final JsonFrameReader reader = new JsonFrameReader();
+    private int id;
+    private int status;
+
+    /**
+     * @return true if frame is a status message. In that case its fields are available through
+     *     {@link #id()} and {@link #status()}
+     */
+    public boolean decode(CharSequence json) {
+        if (!reader.reset(json)) return false;
+        boolean hasId = false, hasStatus = false;
+        while (reader.nextField()) {
+            if (!hasId && reader.isKey("id")) {
+                var val = reader.readNumber();
+                id = (int) val;
+                if (id != val) return false;
+                hasId = true;
+            } else if (!hasStatus && reader.isKey("stat")) {
+                var val = reader.readNumber();
+                status = (int) val;
+                if (status != val) return false;
+                hasStatus = true;
+            } else {
+                return false;
+            }
+        }
+        return hasId && hasStatus && !reader.isMalformed();
+    }
+
+    /** Id of the last decoded status message */
+    public int id() {
+        return id;
+    }
+
+    /** Status of the last decoded status message */
+    public int status() {
+        return status;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import id.xfunction.Preconditions;
+import id.xfunction.logging.XLogger;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel which runs timeout tasks from a single thread.
+ *
+ * <p>Wheel consists of buckets, each covering one tick. Scheduled timeouts are placed into the
+ * bucket of the tick when they expire, together with number of full wheel rotations left before
+ * that. Every tick the thread goes through the timeouts of the current bucket only, so scheduling
+ * and cancelling a timeout is O(1) regardless of how many of them are outstanding.
+ *
+ * <p>Timeouts are expected to be cancelled most of the time (commands complete before their
+ * deadline), so cancelled timeouts are not removed from the wheel immediately but dropped when the
+ * thread reaches their bucket.
+ *
+ * <p>Thread parks without ticking while there are no timeouts in the wheel and it is woken up by
+ * the next {@link #schedule(Runnable, Duration)}.
+ *
+ * <p>Timeout tasks are executed by the wheel thread and should be fast.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class TimingWheel implements AutoCloseable {
+    private static final XLogger LOGGER = XLogger.getLogger(TimingWheel.class);
+
+    public static class Timeout {
+        private final Runnable task;
+        private final long deadline;
+        private long rounds;
+        private Timeout next;
+        private volatile boolean isCancelled;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        public void cancel() {
+            isCancelled = true;
+        }
+    }
+
+    private final long tickNanos;
+    private final Timeout[] buckets;
+    private final int mask;
+
+    /** Timeouts which are not yet placed into the buckets */
+    private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+
+    private final long startTime = System.nanoTime();
+    private final Thread thread;
+
+    /** Accessed only by the wheel thread */
+    private long tick;
+
+    /** Number of timeouts placed into the buckets, accessed only by the wheel thread */
+    private int size;
+
+    private volatile boolean isStarted;
+    private volatile boolean isIdle;
+    private volatile boolean isClosed;
+
+    /**
+     * @param tickDuration timeouts expire no earlier than their deadline and not later than one
+     *     tick after it
+     * @param wheelSize number of buckets, must be power of two
+     */
+    public TimingWheel(String name, Duration tickDuration, int wheelSize) {
+        Preconditions.isTrue(Integer.bitCount(wheelSize) == 1, "Wheel size should be power of two");
+        tickNanos = tickDuration.toNanos();
+        buckets = new Timeout[wheelSize];
+        mask = wheelSize - 1;
+        thread = Thread.ofPlatform().name(name).daemon().unstarted(this::run);
+    }
+
+    /** Run the task once the delay expires unless returned timeout is cancelled before that */
+    public Timeout schedule(Runnable task, Duration delay) {
+        Preconditions.isTrue(!isClosed, "Timing wheel is closed");
+        startIfNeeded();
+        var timeout = new Timeout(task, System.nanoTime() + delay.toNanos());
+        scheduled.add(timeout);
+        if (isIdle) LockSupport.unpark(thread);
+        return timeout;
+    }
+
+    private void startIfNeeded() {
+        if (isStarted) return;
+        synchronized (this) {
+            if (isStarted) return;
+            thread.start();
+            isStarted = true;
+        }
+    }
+
+    private void run() {
+        LOGGER.fine("Started");
+        while (!isClosed) {
+            if (size == 0 && scheduled.isEmpty()) {
+                park();
+                continue;
+            }
+            var tickEnd = startTime + (tick + 1) * tickNanos;
+            long now;
+            while ((now = System.nanoTime()) < tickEnd) {
+                LockSupport.parkNanos(tickEnd - now);
+                if (isClosed) break;
+            }
+            placeScheduled();
+            expire((int) (tick & mask));
+            tick++;
+        }
+        LOGGER.fine("Stopped");
+    }
+
+    private void park() {
+        isIdle = true;
+        // timeout could be scheduled before we became idle
+        if (scheduled.isEmpty() && !isClosed) LockSupport.park(this);
+        isIdle = false;
+        // wheel is empty so ticks which passed while parked do not expire anything
+        tick = Math.max(tick, (System.nanoTime() - startTime) / tickNanos);
+    }
+
+    private void placeScheduled() {
+        Timeout timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.isCancelled) continue;
+            // bucket of tick N is processed at the end of that tick
+            var expiresAt =
+                    Math.max(tick, Math.ceilDiv(timeout.deadline - startTime, tickNanos) - 1);
+            timeout.rounds = (expiresAt - tick) / buckets.length;
+            var bucket = (int) (expiresAt & mask);
+            timeout.next = buckets[bucket];
+            buckets[bucket] = timeout;
+            size++;
+        }
+    }
+
+    private void expire(int bucket) {
+        Timeout prev = null;
+        var timeout = buckets[bucket];
+        while (timeout != null) {
+            var next = timeout.next;
+            if (timeout.isCancelled || timeout.rounds == 0) {
+                if (prev == null) buckets[bucket] = next;
+                else prev.next = next;
+                timeout.next = null;
+                size--;
+                if (!timeout.isCancelled) run(timeout);
+            } else {
+                timeout.rounds--;
+                prev = timeout;
+            }
+            timeout = next;
+        }
+    }
+
+    private void run(Timeout timeout) {
+        try {
+            timeout.task.run();
+        } catch (Exception e) {
+            LOGGER.severe("Timeout task failed", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        isClosed = true;
+        LockSupport.unpark(thread);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import pinorobotics.drac.CommandType;
+import pinorobotics.drac.DornaClientConfig;
+import pinorobotics.drac.Joints;
+import pinorobotics.drac.metrics.DracMetrics;
+
+/**
+ * Streams trajectory points as continuous "jmove" commands.
+ *
+ * <p>Up to lookahead commands are kept queued on the Command Server (see {@link WindowedSender}),
+ * so that it can blend them into a smooth motion. Next point is taken from the trajectory only when
+ * one of the queued commands is completed, so the trajectory is consumed at the pace of the robot
+ * and caller does not need to do any flow control. When any of the commands fails robot is halted
+ * and stream fails.
+ *
+ * <p>If all queued commands are completed before the next point is sent, the robot runs out of
+ * motion (underrun) which is reported to {@link DracMetrics#STREAM_UNDERRUN_COUNT_METRIC}.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class TrajectoryStreamer extends WindowedSender {
+    private static final XLogger LOGGER = XLogger.getLogger(TrajectoryStreamer.class);
+    private static final Meter METER =
+            GlobalOpenTelemetry.getMeter(TrajectoryStreamer.class.getSimpleName());
+    private static final LongCounter STREAM_UNDERRUN_COUNT_METER =
+            METER.counterBuilder(DracMetrics.STREAM_UNDERRUN_COUNT_METRIC)
+                    .setDescription(DracMetrics.STREAM_UNDERRUN_COUNT_METRIC_DESCRIPTION)
+                    .build();
+
+    private final Iterator<Joints> trajectory;
+    private final DornaClientConfig config;
+    private final Attributes metricAttributes;
+
+    public TrajectoryStreamer(
+            Iterator<Joints> trajectory,
+            DornaClientConfig config,
+            IdGenerator idGenerator,
+            MessageProcessor messageProc,
+            DracSocket webSocket,
+            Executor executor,
+            CommandTimeouts timeouts,
+            Supplier<CompletableFuture<Void>> halt,
+            Attributes metricAttributes) {
+        super(
+                config.streamLookahead(),
+                idGenerator,
+                messageProc,
+                webSocket,
+                executor,
+                timeouts,
+                halt);
+        this.trajectory = trajectory;
+        this.config = config;
+        this.metricAttributes = metricAttributes;
+    }
+
+    /**
+     * @return future which is completed with the number of streamed points when all of them are
+     *     completed
+     */
+    public CompletableFuture<Integer> stream() {
+        return start();
+    }
+
+    @Override
+    protected boolean hasNext() {
+        return trajectory.hasNext();
+    }
+
+    @Override
+    protected Command next(int id) {
+        var joints = trajectory.next();
+        JointLimits.verify(config.model(), joints);
+        var command =
+                CommandEncoder.get()
+                        .jmove(
+                                id,
+                                joints,
+                                false,
+                                true,
+                                config.velocity(),
+                                config.acceleration(),
+                                config.jerk())
+                        .toString();
+        return new Command(CommandType.JMOVE, command);
+    }
+
+    @Override
+    protected void onUnderrun(int completed) {
+        LOGGER.fine("Underrun after {0} points", completed);
+        STREAM_UNDERRUN_COUNT_METER.add(1, metricAttributes);
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.impl;
+
+import id.xfunction.logging.XLogger;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Sends commands without blocking any threads while they are executed by the Command Server.
+ *
+ * <p>Up to window commands are kept queued on the Command Server. Next command is taken only when
+ * one of the previous commands is completed, so commands are consumed at the pace of the robot.
+ * When any of the commands fails no more commands are sent, commands which are still pending are
+ * cancelled and robot is halted, only then the result fails. Otherwise robot would keep executing
+ * the commands which were already queued on the Command Server after the caller learned about the
+ * failure.
+ *
+ * <p>Commands are completed by the thread which receives messages from the Command Server, to not
+ * delay it the next commands are sent from the executor.
+ *
+ * <p>Subclasses define where commands come from, all their methods are called while holding the
+ * lock of this object so commands are taken by one thread at a time and sent in the same order.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public abstract class WindowedSender {
+    private static final XLogger LOGGER = XLogger.getLogger(WindowedSender.class);
+
+    /**
+     * @param type command type (see {@link pinorobotics.drac.CommandType})
+     * @param frame encoded command
+     */
+    protected record Command(String type, String frame) {}
+
+    private final int window;
+    private final IdGenerator idGenerator;
+    private final MessageProcessor messageProc;
+    private final DracSocket webSocket;
+    private final Executor executor;
+    private final CommandTimeouts timeouts;
+    private final Supplier<CompletableFuture<Void>> halt;
+    private final CompletableFuture<Integer> result = new CompletableFuture<>();
+    private final Set<CompletableFuture<Void>> pending = new HashSet<>();
+    private boolean isExhausted;
+    private boolean isFailed;
+    private int sent;
+    private int completed;
+
+    protected WindowedSender(
+            int window,
+            IdGenerator idGenerator,
+            MessageProcessor messageProc,
+            DracSocket webSocket,
+            Executor executor,
+            CommandTimeouts timeouts,
+            Supplier<CompletableFuture<Void>> halt) {
+        this.window = window;
+        this.idGenerator = idGenerator;
+        this.messageProc = messageProc;
+        this.webSocket = webSocket;
+        this.executor = executor;
+        this.timeouts = timeouts;
+        this.halt = halt;
+    }
+
+    /**
+     * @return false if there are no more commands to send
+     */
+    protected abstract boolean hasNext();
+
+    /** Take next command and encode it with the given id */
+    protected abstract Command next(int id);
+
+    /** Called when all sent commands are completed while there are still commands to send */
+    protected void onUnderrun(int completed) {}
+
+    /**
+     * Send the first window of commands, the rest are sent as the previous ones complete
+     *
+     * @return future which is completed with the number of commands when all of them are completed
+     */
+    protected CompletableFuture<Integer> start() {
+        try {
+            for (int i = 0; i < window; i++) {
+                if (!sendNext()) break;
+            }
+        } catch (Exception e) {
+            fail(e);
+        }
+        return result;
+    }
+
+    /** Number of commands which were sent so far */
+    public synchronized int getSentCount() {
+        return sent;
+    }
+
+    /**
+     * @return false if there are no more commands to send
+     */
+    private synchronized boolean sendNext() {
+        if (isFailed || result.isDone() || isExhausted) return false;
+        if (!hasNext()) {
+            isExhausted = true;
+            if (completed == sent) result.complete(completed);
+            return false;
+        }
+        var id = idGenerator.nextId();
+        var command = next(id);
+        LOGGER.fine("Sending command {0} with id {1}", sent, id);
+        sent++;
+        var type = command.type();
+        var completion =
+                timeouts.watch(messageProc.awaitCompletion(id, type, command.frame()), type, id);
+        pending.add(completion);
+        completion.whenCompleteAsync((r, e) -> onCompleted(completion, e), executor);
+        if (MessageProcessor.isMotion(type)) webSocket.sendMotionText(command.frame(), completion);
+        else webSocket.sendText(command.frame(), completion);
+        return true;
+    }
+
+    private void onCompleted(CompletableFuture<Void> completion, Throwable e) {
+        synchronized (this) {
+            pending.remove(completion);
+        }
+        if (e != null) {
+            if (e instanceof CompletionException && e.getCause() != null) e = e.getCause();
+            fail(e);
+            return;
+        }
+        try {
+            synchronized (this) {
+                completed++;
+                if (completed == sent) {
+                    if (isExhausted) {
+                        result.complete(completed);
+                        return;
+                    }
+                    onUnderrun(completed);
+                }
+            }
+            sendNext();
+        } catch (Exception ex) {
+            fail(ex);
+        }
+    }
+
+    /** Stop the robot and only then fail the result, failures of other commands are ignored */
+    private void fail(Throwable e) {
+        List<CompletableFuture<Void>> cancelled;
+        synchronized (this) {
+            if (isFailed) return;
+            isFailed = true;
+            cancelled = List.copyOf(pending);
+            pending.clear();
+            if (sent == 0) {
+                result.completeExceptionally(e);
+                return;
+            }
+        }
+        LOGGER.warning(
+                "Command failed, cancelling {0} pending commands and halting: {1}",
+                cancelled.size(), e.getMessage());
+        cancelled.forEach(completion -> completion.cancel(false));
+        // commands are cancelled only by the halt, robot is already being halted
+        if (e instanceof CancellationException) {
+            result.completeExceptionally(e);
+            return;
+        }
+        try {
+            halt.get()
+                    .whenComplete(
+                            (r, ex) -> {
+                                if (ex != null)
+                                    LOGGER.warning(
+                                            "Halt after failure failed: {0}", ex.getMessage());
+                            });
+        } catch (Exception ex) {
+            LOGGER.warning("Halt after failure failed: {0}", ex.getMessage());
+        }
+        result.completeExceptionally(e);
+    }
+}
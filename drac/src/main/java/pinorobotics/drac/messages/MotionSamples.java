@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.messages;
+
+import pinorobotics.drac.impl.MotionFields;
+
+/**
+ * Buffer of motion samples stored as struct-of-arrays of primitives.
+ *
+ * <p>Buffer is allocated once by the caller and then reused between queries so that reading motion
+ * history does not create any garbage.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @see pinorobotics.drac.DornaClient#getMotionHistory(long, long, MotionSamples)
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MotionSamples {
+
+    private final long[] timestamps;
+    private final double[][] columns;
+    private int size;
+
+    /**
+     * @param capacity maximum number of samples this buffer can hold
+     */
+    public MotionSamples(int capacity) {
+        timestamps = new long[capacity];
+        columns = new double[MotionFields.COUNT][capacity];
+    }
+
+    public int capacity() {
+        return timestamps.length;
+    }
+
+    /** Number of samples currently stored in the buffer */
+    public int size() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    /** Backing array of times when each sample was received (in {@link System#nanoTime()} units) */
+    public long[] timestamps() {
+        return timestamps;
+    }
+
+    /**
+     * Backing arrays, one per each motion field. Fields are ordered in the same way as in {@link
+     * MotionSnapshot#values()}
+     */
+    public double[][] columns() {
+        return columns;
+    }
+
+    /** Time when sample was received in {@link System#nanoTime()} units */
+    public long receivedAt(int sample) {
+        return timestamps[sample];
+    }
+
+    /**
+     * @param joint joint index starting from 0
+     */
+    public double joint(int sample, int joint) {
+        return columns[MotionFields.J0 + joint][sample];
+    }
+
+    public double x(int sample) {
+        return columns[MotionFields.X][sample];
+    }
+
+    public double y(int sample) {
+        return columns[MotionFields.Y][sample];
+    }
+
+    public double z(int sample) {
+        return columns[MotionFields.Z][sample];
+    }
+
+    public double a(int sample) {
+        return columns[MotionFields.A][sample];
+    }
+
+    public double b(int sample) {
+        return columns[MotionFields.B][sample];
+    }
+
+    public double c(int sample) {
+        return columns[MotionFields.C][sample];
+    }
+
+    public double d(int sample) {
+        return columns[MotionFields.D][sample];
+    }
+
+    public double e(int sample) {
+        return columns[MotionFields.E][sample];
+    }
+
+    public double vel(int sample) {
+        return columns[MotionFields.VEL][sample];
+    }
+
+    public double accel(int sample) {
+        return columns[MotionFields.ACCEL][sample];
+    }
+
+    /** Copy given sample into the snapshot */
+    public void get(int sample, MotionSnapshot out) {
+        var values = out.values();
+        for (int i = 0; i < MotionFields.COUNT; i++) {
+            values[i] = columns[i][sample];
+        }
+        out.receivedAt(timestamps[sample]);
+    }
+}
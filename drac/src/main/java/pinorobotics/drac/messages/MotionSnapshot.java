@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.messages;
+
+import pinorobotics.drac.Joints;
+import pinorobotics.drac.impl.MotionFields;
+
+/**
+ * Mutable view of {@link Motion} message.
+ *
+ * <p>Unlike {@link Motion} it can be reused between reads so that polling of motion messages does
+ * not create any garbage.
+ *
+ * <p>This class is not thread-safe. Each reader thread is expected to own its snapshot.
+ *
+ * @see pinorobotics.drac.DornaClient#getLastMotion(MotionSnapshot)
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MotionSnapshot {
+
+    private final double[] values = new double[MotionFields.COUNT];
+    private long receivedAt;
+
+    /**
+     * Time when motion message was received from the Command Server in {@link System#nanoTime()}
+     * units
+     */
+    public long receivedAt() {
+        return receivedAt;
+    }
+
+    public void receivedAt(long receivedAt) {
+        this.receivedAt = receivedAt;
+    }
+
+    /**
+     * Backing array with values of all motion fields in the same order as they are sent by the
+     * Command Server: j0, j1, j2, j3, j4, j5, j6, j7, x, y, z, a, b, c, d, e, vel, accel
+     */
+    public double[] values() {
+        return values;
+    }
+
+    /**
+     * @param index joint index starting from 0
+     */
+    public double joint(int index) {
+        return values[MotionFields.J0 + index];
+    }
+
+    public double x() {
+        return values[MotionFields.X];
+    }
+
+    public double y() {
+        return values[MotionFields.Y];
+    }
+
+    public double z() {
+        return values[MotionFields.Z];
+    }
+
+    public double a() {
+        return values[MotionFields.A];
+    }
+
+    public double b() {
+        return values[MotionFields.B];
+    }
+
+    public double c() {
+        return values[MotionFields.C];
+    }
+
+    public double d() {
+        return values[MotionFields.D];
+    }
+
+    public double e() {
+        return values[MotionFields.E];
+    }
+
+    public double vel() {
+        return values[MotionFields.VEL];
+    }
+
+    public double accel() {
+        return values[MotionFields.ACCEL];
+    }
+
+    /** Copy values of the given motion into this snapshot */
+    public void set(Motion motion) {
+        var joints = motion.joints();
+        values[MotionFields.J0] = joints.j0();
+        values[MotionFields.J1] = joints.j1();
+        values[MotionFields.J2] = joints.j2();
+        values[MotionFields.J3] = joints.j3();
+        values[MotionFields.J4] = joints.j4();
+        values[MotionFields.J5] = joints.j5();
+        values[MotionFields.J6] = joints.j6();
+        values[MotionFields.J7] = joints.j7();
+        values[MotionFields.X] = motion.x();
+        values[MotionFields.Y] = motion.y();
+        values[MotionFields.Z] = motion.z();
+        values[MotionFields.A] = motion.a();
+        values[MotionFields.B] = motion.b();
+        values[MotionFields.C] = motion.c();
+        values[MotionFields.D] = motion.d();
+        values[MotionFields.E] = motion.e();
+        values[MotionFields.VEL] = motion.vel();
+        values[MotionFields.ACCEL] = motion.accel();
+    }
+
+    /** Copy current values into new {@link Joints} */
+    public Joints joints() {
+        return new Joints(
+                values[MotionFields.J0],
+                values[MotionFields.J1],
+                values[MotionFields.J2],
+                values[MotionFields.J3],
+                values[MotionFields.J4],
+                values[MotionFields.J5],
+                values[MotionFields.J6],
+                values[MotionFields.J7]);
+    }
+
+    /** Copy current values into new {@link Motion} */
+    public Motion toMotion() {
+        return new Motion(
+                joints(),
+                values[MotionFields.X],
+                values[MotionFields.Y],
+                values[MotionFields.Z],
+                values[MotionFields.A],
+                values[MotionFields.B],
+                values[MotionFields.C],
+                values[MotionFields.D],
+                values[MotionFields.E],
+                values[MotionFields.VEL],
+                values[MotionFields.ACCEL]);
+    }
+
+    @Override
+    public String toString() {
+        return toMotion().toString();
+    }
+}
@@ -36,9 +36,22 @@ package pinorobotics.drac.metrics;
  */
 public interface DracMetrics {
 
+    /**
+     * Attribute which holds the name of the Dorna arm, it is present only when arm name is
+     * configured
+     *
+     * @see pinorobotics.drac.DornaClientConfig.Builder#armName(String)
+     */
+    String ARM_ATTRIBUTE = "arm";
+
     String MOTIO1N_MESSAGE_COUNT_METRIC = "motion_total";
     String MOTION_MESSAGE_COUNT_METRIC_DESCRIPTION = "Total number of motion messages received";
 
+    String MOTION_DROPPED_COUNT_METRIC = "motion_dropped_total";
+    String MOTION_DROPPED_COUNT_METRIC_DESCRIPTION =
+            "Total number of motion messages which were not delivered to motion subscribers because"
+                    + " they were too slow";
+
     String SENT_BYTES_COUNT_METRIC = "bytes_sent_total";
     String SENT_BYTES_COUNT_METRIC_DESCRIPTION = "Total number of sent bytes";
 
@@ -78,6 +91,20 @@ public interface DracMetrics {
     String MOTOR_TIME_METRIC = "motor_time_ms";
     String MOTOR_TIME_METRIC_DESCRIPTION = "Motor operation in millis";
 
+    String HALT_COUNT_METRIC = "halt_total";
+    String HALT_COUNT_METRIC_DESCRIPTION = "Total number of halt operations";
+
+    String HALT_FAILED_COUNT_METRIC = "halt_failed_total";
+    String HALT_FAILED_COUNT_METRIC_DESCRIPTION = "Total number of failed halt operations";
+
+    String HALT_TIME_METRIC = "halt_time_ms";
+    String HALT_TIME_METRIC_DESCRIPTION = "Halt operation in millis";
+
+    String HALT_SEND_LATENCY_METRIC = "halt_send_latency_us";
+    String HALT_SEND_LATENCY_METRIC_DESCRIPTION =
+            "Time in micros between halt operation was issued and halt command was sent to the"
+                    + " Command Server";
+
     String PLAY_COUNT_METRIC = "play_total";
     String PLAY_COUNT_METRIC_DESCRIPTION = "Total number of play operations";
 
@@ -86,4 +113,65 @@ public interface DracMetrics {
 
     String PLAY_TIME_METRIC = "play_time_ms";
     String PLAY_TIME_METRIC_DESCRIPTION = "Play operation in millis";
+
+    String PENDING_COMMANDS_METRIC = "pending_commands";
+    String PENDING_COMMANDS_METRIC_DESCRIPTION =
+            "Number of commands sent to the Command Server which are not completed yet";
+
+    String PLAY_RATE_METRIC = "play_commands_per_second";
+    String PLAY_RATE_METRIC_DESCRIPTION =
+            "Number of script commands completed per second by each successful play operation";
+
+    String COMMAND_TIMEOUT_COUNT_METRIC = "command_timeout_total";
+    String COMMAND_TIMEOUT_COUNT_METRIC_DESCRIPTION =
+            "Total number of commands which were not completed within their timeouts";
+
+    String CONNECTION_STATE_COUNT_METRIC = "connection_state_total";
+    String CONNECTION_STATE_COUNT_METRIC_DESCRIPTION =
+            "Total number of times when connection to the Command Server changed its state, state"
+                    + " is stored in the \"state\" attribute";
+
+    String RECEIVE_DEMAND_REQUESTS_COUNT_METRIC = "receive_demand_requests_total";
+    String RECEIVE_DEMAND_REQUESTS_COUNT_METRIC_DESCRIPTION =
+            "Total number of times when more messages were requested from the Command Server"
+                    + " connection, each request tops up half of the receive window so high rate"
+                    + " means that the window is small for the incoming message rate";
+
+    String RECEIVE_DEMAND_REMAINING_METRIC = "receive_demand_remaining";
+    String RECEIVE_DEMAND_REMAINING_METRIC_DESCRIPTION =
+            "Number of requested messages which were not received yet when more messages were"
+                    + " requested from the Command Server connection, values close to 0 mean that"
+                    + " the connection was about to be starved";
+
+    String CONNECT_TIME_METRIC = "connect_time_ms";
+    String CONNECT_TIME_METRIC_DESCRIPTION =
+            "Time in millis to open connection to the Command Server, including reconnects";
+
+    String HTTP_CLIENT_THREADS_METRIC = "http_client_threads";
+    String HTTP_CLIENT_THREADS_METRIC_DESCRIPTION =
+            "Number of live platform threads which belong to the HttpClient instances (selector"
+                    + " threads and threads of their default executors)";
+
+    String SYNC_SKEW_METRIC = "sync_skew_us";
+    String SYNC_SKEW_METRIC_DESCRIPTION =
+            "Time in micros between the first and the last arm started moving after they were"
+                    + " released to play the same segment of synchronized play";
+
+    String STREAM_COUNT_METRIC = "stream_total";
+    String STREAM_COUNT_METRIC_DESCRIPTION = "Total number of stream operations";
+
+    String STREAM_FAILED_COUNT_METRIC = "stream_failed_total";
+    String STREAM_FAILED_COUNT_METRIC_DESCRIPTION = "Total number of failed stream operations";
+
+    String STREAM_TIME_METRIC = "stream_time_ms";
+    String STREAM_TIME_METRIC_DESCRIPTION = "Stream operation in millis";
+
+    String STREAM_RATE_METRIC = "stream_points_per_second";
+    String STREAM_RATE_METRIC_DESCRIPTION =
+            "Number of trajectory points completed per second by each successful stream operation";
+
+    String STREAM_UNDERRUN_COUNT_METRIC = "stream_underrun_total";
+    String STREAM_UNDERRUN_COUNT_METRIC_DESCRIPTION =
+            "Total number of times when all streamed points queued on the Command Server were"
+                    + " completed before the next point was sent";
 }
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.trajectory;
+
+import id.xfunction.Preconditions;
+import java.util.Arrays;
+import java.util.List;
+import pinorobotics.drac.DornaRobotModel;
+import pinorobotics.drac.Joints;
+import pinorobotics.drac.impl.JointLimits;
+
+/**
+ * Fixed number of joint positions stored in a single flat array, one joint after another
+ * (struct-of-arrays):
+ *
+ * {@snippet lang="plain" :
+ * j0 of point 0, j0 of point 1, ..., j0 of point N-1, j1 of point 0, ..., j7 of point N-1
+ * }
+ *
+ * <p>Operations over the whole batch go through each joint as a contiguous range of the array and
+ * do not allocate anything, which lets JIT compiler vectorize them with SIMD instructions. This
+ * makes validating or converting long trajectories much cheaper than doing same for each {@link
+ * Joints} separately.
+ *
+ * <p>Joint values are given in degrees unless converted with {@link #toRadians(JointsBatch)}.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class JointsBatch {
+
+    public static final int JOINT_COUNT = 8;
+
+    private final double[] values;
+    private final int size;
+
+    /** Batch of the given number of points where all joints are 0 */
+    public JointsBatch(int size) {
+        this(new double[size * JOINT_COUNT], size);
+    }
+
+    private JointsBatch(double[] values, int size) {
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * Batch which is backed by the given array, changes to the array are visible in the batch and
+     * vice versa.
+     *
+     * @param values array with {@link #JOINT_COUNT} joints of each point in the layout described in
+     *     {@link JointsBatch}
+     */
+    public static JointsBatch wrap(double[] values, int size) {
+        Preconditions.equals(size * JOINT_COUNT, values.length, "Mismatch in number of values");
+        return new JointsBatch(values, size);
+    }
+
+    public static JointsBatch of(List<Joints> trajectory) {
+        var batch = new JointsBatch(trajectory.size());
+        for (int i = 0; i < trajectory.size(); i++) batch.set(i, trajectory.get(i));
+        return batch;
+    }
+
+    /** Number of points in the batch */
+    public int size() {
+        return size;
+    }
+
+    /** Backing array of the batch */
+    public double[] values() {
+        return values;
+    }
+
+    /** Position in {@link #values()} where values of the given joint start */
+    public int offset(int joint) {
+        return joint * size;
+    }
+
+    public double get(int point, int joint) {
+        return values[joint * size + point];
+    }
+
+    public void set(int point, int joint, double value) {
+        values[joint * size + point] = value;
+    }
+
+    public Joints get(int point) {
+        return new Joints(
+                get(point, 0),
+                get(point, 1),
+                get(point, 2),
+                get(point, 3),
+                get(point, 4),
+                get(point, 5),
+                get(point, 6),
+                get(point, 7));
+    }
+
+    public void set(int point, Joints joints) {
+        set(point, 0, joints.j0());
+        set(point, 1, joints.j1());
+        set(point, 2, joints.j2());
+        set(point, 3, joints.j3());
+        set(point, 4, joints.j4());
+        set(point, 5, joints.j5());
+        set(point, 6, joints.j6());
+        set(point, 7, joints.j7());
+    }
+
+    /**
+     * Verify that all points are within joint limits of the model.
+     *
+     * <p>Finds the range of each joint first and goes through its values again only when the range
+     * is out of limits to report the first point which violates them.
+     *
+     * @throws id.xfunction.PreconditionException if any of the joints is out of limits
+     */
+    public void verifyLimits(DornaRobotModel model) {
+        var lower = model.lowerLimit();
+        var upper = model.upperLimit();
+        for (int joint = 0; joint < lower.length; joint++) {
+            var from = offset(joint);
+            var to = from + size;
+            var min = Double.POSITIVE_INFINITY;
+            var max = Double.NEGATIVE_INFINITY;
+            for (int i = from; i < to; i++) {
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+            }
+            // NaN fails both comparisons
+            if (lower[joint] <= min && max <= upper[joint]) continue;
+            for (int i = from; i < to; i++) JointLimits.verify(model, joint, values[i]);
+        }
+    }
+
+    /**
+     * Convert all joints from degrees to radians
+     *
+     * @param out batch of same size where result is stored, can be this batch
+     * @return out batch
+     */
+    public JointsBatch toRadians(JointsBatch out) {
+        Preconditions.equals(size, out.size, "Mismatch in batch size");
+        var result = out.values;
+        for (int i = 0; i < values.length; i++) result[i] = Math.toRadians(values[i]);
+        return out;
+    }
+
+    /**
+     * Convert all joints from radians to degrees
+     *
+     * @param out batch of same size where result is stored, can be this batch
+     * @return out batch
+     */
+    public JointsBatch toDegrees(JointsBatch out) {
+        Preconditions.equals(size, out.size, "Mismatch in batch size");
+        var result = out.values;
+        for (int i = 0; i < values.length; i++) result[i] = Math.toDegrees(values[i]);
+        return out;
+    }
+
+    /**
+     * Euclidean distance in joint space between each two consecutive points
+     *
+     * @param out buffer of at least size - 1 where distance between point i and i + 1 is stored at
+     *     index i
+     */
+    public void segmentDistances(double[] out) {
+        var count = size - 1;
+        if (count <= 0) return;
+        Preconditions.isTrue(out.length >= count, "Output buffer is too small");
+        Arrays.fill(out, 0, count, 0);
+        for (int joint = 0; joint < JOINT_COUNT; joint++) {
+            var from = offset(joint);
+            for (int i = 0; i < count; i++) {
+                var diff = values[from + i + 1] - values[from + i];
+                out[i] += diff * diff;
+            }
+        }
+        for (int i = 0; i < count; i++) out[i] = Math.sqrt(out[i]);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.trajectory;
+
+import id.xfunction.Preconditions;
+import java.time.Duration;
+import pinorobotics.drac.DornaClientConfig;
+import pinorobotics.drac.Joints;
+
+/**
+ * Predicts duration of joint space motions using jerk-limited (S-curve) velocity profile.
+ *
+ * <p>Each joint starts and ends its motion at rest. Its acceleration ramps up with the given jerk
+ * until it reaches the acceleration limit, stays there until the velocity approaches the velocity
+ * limit and ramps down so that the joint cruises with the velocity limit. Deceleration mirrors the
+ * acceleration. Short motions do not reach some of the limits, in which case corresponding phases
+ * are skipped.
+ *
+ * <p>All joints of one motion start and finish together, so duration of the motion is the duration
+ * of the joint which needs to travel the longest distance.
+ *
+ * <p>Blending of continuous motions is not taken into account, so estimated duration of such
+ * motions is an upper bound.
+ *
+ * <p>This class is immutable and thread-safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MotionTimeEstimator {
+
+    private final double velocity;
+    private final double acceleration;
+    private final double jerk;
+
+    /** Estimator with the limits which client uses for motions (see {@link DornaClientConfig}) */
+    public MotionTimeEstimator(DornaClientConfig config) {
+        this(config.velocity(), config.acceleration(), config.jerk());
+    }
+
+    /**
+     * @param velocity velocity limit in degrees per second
+     * @param acceleration acceleration limit in degrees per second squared
+     * @param jerk jerk limit in degrees per second cubed
+     */
+    public MotionTimeEstimator(double velocity, double acceleration, double jerk) {
+        Preconditions.isTrue(velocity > 0, "Velocity should be positive");
+        Preconditions.isTrue(acceleration > 0, "Acceleration should be positive");
+        Preconditions.isTrue(jerk > 0, "Jerk should be positive");
+        this.velocity = velocity;
+        this.acceleration = acceleration;
+        this.jerk = jerk;
+    }
+
+    /** Duration of the motion from one joint position to another */
+    public Duration estimate(Joints from, Joints to) {
+        var a = from.toArray();
+        var b = to.toArray();
+        var distance = 0.;
+        for (int i = 0; i < a.length; i++) distance = Math.max(distance, Math.abs(b[i] - a[i]));
+        return toDuration(seconds(distance));
+    }
+
+    /**
+     * Time in seconds which single joint needs to travel the given distance
+     *
+     * @param distance distance in degrees
+     */
+    public double seconds(double distance) {
+        distance = Math.abs(distance);
+        if (distance == 0) return 0;
+        // time to reach the acceleration limit from rest and back to 0
+        var jerkTime = acceleration / jerk;
+        var rampTime = accelerationTime(velocity, jerkTime);
+        // distance needed to accelerate to the velocity limit and decelerate back
+        if (distance >= velocity * rampTime) return rampTime + distance / velocity;
+        // velocity limit is not reached, find the peak velocity when joint starts decelerating
+        // right after accelerating
+        var peakVelocity =
+                acceleration
+                        / 2
+                        * (Math.sqrt(jerkTime * jerkTime + 4 * distance / acceleration) - jerkTime);
+        if (peakVelocity >= acceleration * jerkTime)
+            return 2 * accelerationTime(peakVelocity, jerkTime);
+        // acceleration limit is not reached either
+        return 4 * Math.cbrt(distance / (2 * jerk));
+    }
+
+    /** Time needed to accelerate from rest to the given velocity */
+    private double accelerationTime(double targetVelocity, double jerkTime) {
+        // velocity gained while acceleration ramps up and down
+        if (targetVelocity < acceleration * jerkTime) return 2 * Math.sqrt(targetVelocity / jerk);
+        return targetVelocity / acceleration + jerkTime;
+    }
+
+    static Duration toDuration(double seconds) {
+        return Duration.ofNanos(Math.round(seconds * 1_000_000_000));
+    }
+}
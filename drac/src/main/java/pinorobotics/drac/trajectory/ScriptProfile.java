@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.trajectory;
+
+import java.time.Duration;
+import java.util.List;
+import pinorobotics.drac.Joints;
+
+/**
+ * Predicted durations of the script commands
+ *
+ * @param lines commands of the script in the order they appear in it, blank lines are excluded
+ * @param total predicted duration of the whole script
+ * @param end predicted position of the joints after the script is played
+ * @see ScriptProfiler
+ * @author lambdaprime intid@protonmail.com
+ */
+public record ScriptProfile(List<Line> lines, Duration total, Joints end) {
+
+    /**
+     * @param lineNumber number of the line inside the script starting from 1
+     * @param command command type (see {@link pinorobotics.drac.CommandType})
+     * @param duration predicted duration of the command, commands which do not move the arm take no
+     *     time
+     */
+    public record Line(int lineNumber, String command, Duration duration) {}
+
+    /** Report with one row per command followed by the total */
+    @Override
+    public String toString() {
+        var buf = new StringBuilder();
+        for (var line : lines)
+            buf.append(
+                    "%6d %-8s %10.3fs\n"
+                            .formatted(
+                                    line.lineNumber(), line.command(), seconds(line.duration())));
+        buf.append("%6s %-8s %10.3fs\n".formatted("", "total", seconds(total)));
+        return buf.toString();
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toNanos() / 1_000_000_000.;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.trajectory;
+
+import id.xfunction.PreconditionException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import pinorobotics.drac.CommandType;
+import pinorobotics.drac.DornaClientConfig;
+import pinorobotics.drac.Joints;
+import pinorobotics.drac.exceptions.DornaClientException;
+import pinorobotics.drac.impl.Message;
+import pinorobotics.drac.impl.MessageUtils;
+
+/**
+ * Dry run of the scripts (see {@link pinorobotics.drac.DornaClient#play(List)}) which predicts how
+ * long they take without connecting to the robot.
+ *
+ * <p>Profiler follows position of the joints through the script and estimates duration of each
+ * "jmove" command with {@link MotionTimeEstimator}. Velocity, acceleration and jerk which are not
+ * present in the command are taken from the previous "jmove" command, same as Command Server does.
+ * For the first command they are taken from the client configuration. Commands which do not move
+ * the arm are assumed to take no time, "joint" command only changes the position of the joints.
+ *
+ * <p>Commands are assumed to be executed one after another, so predicted duration does not include
+ * network latency and blending of continuous motions.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ScriptProfiler {
+
+    private static final int JOINT_COUNT = 8;
+
+    private final DornaClientConfig config;
+
+    public ScriptProfiler(DornaClientConfig config) {
+        this.config = config;
+    }
+
+    /** Profile the script starting from the home position of the robot model */
+    public ScriptProfile profile(List<String> script) throws DornaClientException {
+        return profile(script, config.model().home());
+    }
+
+    /**
+     * Profile the script
+     *
+     * @param start position of the joints before the script is played
+     * @throws DornaClientException if any of the lines is not valid JSON or has invalid motion
+     *     parameters
+     */
+    public ScriptProfile profile(List<String> script, Joints start) throws DornaClientException {
+        var lines = new ArrayList<ScriptProfile.Line>();
+        var position = start.toArray();
+        var velocity = config.velocity();
+        var acceleration = config.acceleration();
+        var jerk = config.jerk();
+        var total = Duration.ZERO;
+        for (int i = 0; i < script.size(); i++) {
+            var line = script.get(i);
+            if (line.isBlank()) continue;
+            var lineNumber = i + 1;
+            var message =
+                    MessageUtils.parse(line)
+                            .orElseThrow(
+                                    () ->
+                                            new DornaClientException(
+                                                    "Line " + lineNumber + " is not valid JSON"));
+            var duration = Duration.ZERO;
+            switch (message.command()) {
+                case CommandType.JMOVE -> {
+                    velocity = number(message, "vel", velocity);
+                    acceleration = number(message, "accel", acceleration);
+                    jerk = number(message, "jerk", jerk);
+                    var from = Joints.of(position);
+                    move(message, position);
+                    try {
+                        duration =
+                                new MotionTimeEstimator(velocity, acceleration, jerk)
+                                        .estimate(from, Joints.of(position));
+                    } catch (PreconditionException e) {
+                        throw new DornaClientException(
+                                "Line " + lineNumber + ": " + e.getMessage());
+                    }
+                }
+                case CommandType.JOINT -> move(message, position);
+                default -> {}
+            }
+            lines.add(new ScriptProfile.Line(lineNumber, message.command(), duration));
+            total = total.plus(duration);
+        }
+        return new ScriptProfile(lines, total, Joints.of(position));
+    }
+
+    /** Profile the script stored in the file starting from the home position */
+    public ScriptProfile profile(Path script) throws DornaClientException {
+        try {
+            return profile(Files.readAllLines(script));
+        } catch (IOException e) {
+            throw new DornaClientException(e);
+        }
+    }
+
+    /** Update position with the joints which are present in the command */
+    private static void move(Message message, double[] position) {
+        var isRelative = number(message, "rel", 0) != 0;
+        for (int j = 0; j < JOINT_COUNT; j++) {
+            var joint = message.find("j" + j, Number.class);
+            if (joint.isEmpty()) continue;
+            var value = joint.get().doubleValue();
+            position[j] = isRelative ? position[j] + value : value;
+        }
+    }
+
+    private static double number(Message message, String field, double defaultValue) {
+        return message.find(field, Number.class).map(Number::doubleValue).orElse(defaultValue);
+    }
+}
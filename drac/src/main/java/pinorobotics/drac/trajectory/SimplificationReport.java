@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.trajectory;
+
+/**
+ * Outcome of the trajectory simplification
+ *
+ * @param inputCount number of points (or script commands) before simplification
+ * @param outputCount number of points (or script commands) after simplification
+ * @param maxDeviation largest distance (in degrees) between any of the removed points and the
+ *     simplified path, measured for each joint separately
+ * @author lambdaprime intid@protonmail.com
+ */
+public record SimplificationReport(int inputCount, int outputCount, double maxDeviation) {
+
+    /** Number of removed points (or script commands) */
+    public int removedCount() {
+        return inputCount - outputCount;
+    }
+}
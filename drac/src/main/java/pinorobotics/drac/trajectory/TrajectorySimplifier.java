@@ -0,0 +1,284 @@
+/*
+ * Copyright 2026 drac project
+ * 
+ * Website: https://github.com/pinorobotics
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.drac.trajectory;
+
+import id.xfunction.Preconditions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import pinorobotics.drac.CommandType;
+import pinorobotics.drac.DornaRobotModel;
+import pinorobotics.drac.Joints;
+import pinorobotics.drac.exceptions.DornaClientException;
+import pinorobotics.drac.impl.Message;
+import pinorobotics.drac.impl.MessageUtils;
+
+/**
+ * Removes joint space waypoints which lie close enough to the path between their neighbors.
+ *
+ * <p>Uses <a
+ * href="https://en.wikipedia.org/wiki/Ramer%E2%80%93Douglas%E2%80%93Peucker_algorithm">Ramer–Douglas–Peucker</a>
+ * algorithm. Robot moves between two waypoints along the straight line in joint space, so point can
+ * be removed when its distance to that line does not exceed the tolerance of any of the joints. To
+ * account for different tolerances, distance is measured after each joint is scaled by its
+ * tolerance (see {@link DornaRobotModel#jointTolerance()}). First and last points are always kept.
+ *
+ * <p>Joints which do not have any tolerance (for example j5-j7 of the models with 5 joints) are
+ * kept exact, so points where they change are never removed.
+ *
+ * <p>This class is thread-safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class TrajectorySimplifier {
+
+    /** Tolerance of the joints which are not covered by the model */
+    private static final double EXACT_TOLERANCE = 1e-9;
+
+    private static final int JOINT_COUNT = 8;
+
+    private final double[] tolerance;
+
+    public TrajectorySimplifier(DornaRobotModel model) {
+        this(model.jointTolerance());
+    }
+
+    /**
+     * @param tolerance maximum allowed deviation (in degrees) of each joint starting from j0
+     */
+    public TrajectorySimplifier(double[] tolerance) {
+        for (var t : tolerance) Preconditions.isTrue(t > 0, "Tolerance should be positive");
+        this.tolerance = tolerance.clone();
+    }
+
+    /**
+     * Simplify trajectory stored inside primitive array.
+     *
+     * @param points flat array of points where each point consists of the given number of joints
+     *     (j0, j1, ...)
+     * @param count number of points in the array
+     * @param dimensions number of joints in each point
+     * @param kept buffer of at least count size where indices of kept points are stored in
+     *     ascending order
+     */
+    public SimplificationReport simplify(double[] points, int count, int dimensions, int[] kept) {
+        Preconditions.isTrue(points.length >= count * dimensions, "Points array is too small");
+        Preconditions.isTrue(kept.length >= count, "Kept buffer is too small");
+        var scale = new double[dimensions];
+        for (int d = 0; d < dimensions; d++)
+            scale[d] = 1 / (d < tolerance.length ? tolerance[d] : EXACT_TOLERANCE);
+        if (count <= 2) {
+            for (int i = 0; i < count; i++) kept[i] = i;
+            return new SimplificationReport(count, count, 0);
+        }
+        var isKept = new boolean[count];
+        isKept[0] = true;
+        isKept[count - 1] = true;
+        var maxDeviation = 0.;
+        // ranges [from, to] which are not processed yet, explicit stack avoids deep recursion on
+        // long trajectories
+        var stack = new int[64];
+        var top = 0;
+        stack[top++] = 0;
+        stack[top++] = count - 1;
+        while (top > 0) {
+            var to = stack[--top];
+            var from = stack[--top];
+            if (to - from < 2) continue;
+            var farthest = -1;
+            var farthestDistance = 1.;
+            for (int i = from + 1; i < to; i++) {
+                var distance = distanceSquared(points, dimensions, scale, from, to, i);
+                if (distance > farthestDistance) {
+                    farthest = i;
+                    farthestDistance = distance;
+                }
+            }
+            if (farthest == -1) {
+                for (int i = from + 1; i < to; i++)
+                    maxDeviation =
+                            Math.max(
+                                    maxDeviation,
+                                    deviation(points, dimensions, scale, from, to, i));
+                continue;
+            }
+            isKept[farthest] = true;
+            if (top + 4 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+            stack[top++] = from;
+            stack[top++] = farthest;
+            stack[top++] = farthest;
+            stack[top++] = to;
+        }
+        var keptCount = 0;
+        for (int i = 0; i < count; i++) if (isKept[i]) kept[keptCount++] = i;
+        return new SimplificationReport(count, keptCount, maxDeviation);
+    }
+
+    /**
+     * Position of the closest point of the segment [from, to] to the given point in scaled space
+     */
+    private static double projection(
+            double[] points, int dimensions, double[] scale, int from, int to, int point) {
+        var a = from * dimensions;
+        var b = to * dimensions;
+        var p = point * dimensions;
+        var dot = 0.;
+        var length = 0.;
+        for (int d = 0; d < dimensions; d++) {
+            var segment = (points[b + d] - points[a + d]) * scale[d];
+            dot += (points[p + d] - points[a + d]) * scale[d] * segment;
+            length += segment * segment;
+        }
+        if (length == 0) return 0;
+        return Math.clamp(dot / length, 0., 1.);
+    }
+
+    /** Squared distance between the point and the segment in scaled space */
+    private static double distanceSquared(
+            double[] points, int dimensions, double[] scale, int from, int to, int point) {
+        var t = projection(points, dimensions, scale, from, to, point);
+        var a = from * dimensions;
+        var b = to * dimensions;
+        var p = point * dimensions;
+        var distance = 0.;
+        for (int d = 0; d < dimensions; d++) {
+            var closest = points[a + d] + t * (points[b + d] - points[a + d]);
+            var diff = (points[p + d] - closest) * scale[d];
+            distance += diff * diff;
+        }
+        return distance;
+    }
+
+    /** Largest distance in degrees among all joints between the point and the segment */
+    private static double deviation(
+            double[] points, int dimensions, double[] scale, int from, int to, int point) {
+        var t = projection(points, dimensions, scale, from, to, point);
+        var a = from * dimensions;
+        var b = to * dimensions;
+        var p = point * dimensions;
+        var deviation = 0.;
+        for (int d = 0; d < dimensions; d++) {
+            var closest = points[a + d] + t * (points[b + d] - points[a + d]);
+            deviation = Math.max(deviation, Math.abs(points[p + d] - closest));
+        }
+        return deviation;
+    }
+
+    /**
+     * Simplify sequence of joints
+     *
+     * @param out list where kept points are added
+     */
+    public SimplificationReport simplify(List<Joints> trajectory, List<Joints> out) {
+        var count = trajectory.size();
+        var points = new double[count * JOINT_COUNT];
+        for (int i = 0; i < count; i++)
+            System.arraycopy(trajectory.get(i).toArray(), 0, points, i * JOINT_COUNT, JOINT_COUNT);
+        var kept = new int[count];
+        var report = simplify(points, count, JOINT_COUNT, kept);
+        for (int i = 0; i < report.outputCount(); i++) out.add(trajectory.get(kept[i]));
+        return report;
+    }
+
+    /**
+     * Simplify script (see {@link pinorobotics.drac.DornaClient#play(List)}).
+     *
+     * <p>Only consecutive absolute "jmove" commands which set same joints and have all other fields
+     * (like velocity) equal are simplified. All other lines are kept as they are and they separate
+     * the commands which are simplified. Kept commands are not modified, blank lines are removed.
+     *
+     * @param out list where kept lines of the script are added
+     * @throws DornaClientException if any of the lines is not valid JSON
+     */
+    public SimplificationReport simplifyScript(List<String> script, List<String> out)
+            throws DornaClientException {
+        var input = 0;
+        var output = 0;
+        var maxDeviation = 0.;
+        var run = new ArrayList<String>();
+        Map<String, Object> runShape = null;
+        for (int i = 0; i <= script.size(); i++) {
+            var line = i < script.size() ? script.get(i) : null;
+            if (line != null && line.isBlank()) continue;
+            var shape = line == null ? null : jmoveShape(line, i + 1);
+            if (shape != null && shape.equals(runShape)) {
+                run.add(line);
+                continue;
+            }
+            if (!run.isEmpty()) {
+                var report = simplifyRun(run, out);
+                input += report.inputCount();
+                output += report.outputCount();
+                maxDeviation = Math.max(maxDeviation, report.maxDeviation());
+                run.clear();
+            }
+            runShape = shape;
+            if (line == null) break;
+            if (shape != null) {
+                run.add(line);
+                continue;
+            }
+            out.add(line);
+            input++;
+            output++;
+        }
+        return new SimplificationReport(input, output, maxDeviation);
+    }
+
+    /**
+     * @return all fields of absolute jmove command except its id and joint values, or null if line
+     *     is not such command
+     */
+    private static Map<String, Object> jmoveShape(String line, int lineNumber) {
+        var message =
+                MessageUtils.parse(line)
+                        .orElseThrow(
+                                () ->
+                                        new DornaClientException(
+                                                "Line " + lineNumber + " is not valid JSON"));
+        if (!message.command().equals(CommandType.JMOVE)) return null;
+        if (message.find("rel", Number.class).map(Number::intValue).orElse(0) != 0) return null;
+        var shape = new HashMap<String, Object>(message.body());
+        shape.remove("id");
+        for (int j = 0; j < JOINT_COUNT; j++) {
+            // joint which is present is marked in the shape, its value does not matter
+            if (shape.containsKey("j" + j)) shape.put("j" + j, Boolean.TRUE);
+        }
+        return shape;
+    }
+
+    private SimplificationReport simplifyRun(List<String> run, List<String> out) {
+        var count = run.size();
+        var points = new double[count * JOINT_COUNT];
+        for (int i = 0; i < count; i++) {
+            var message = MessageUtils.parse(run.get(i)).get();
+            for (int j = 0; j < JOINT_COUNT; j++) points[i * JOINT_COUNT + j] = joint(message, j);
+        }
+        var kept = new int[count];
+        var report = simplify(points, count, JOINT_COUNT, kept);
+        for (int i = 0; i < report.outputCount(); i++) out.add(run.get(kept[i]));
+        return report;
+    }
+
+    /** All commands of the run set same joints, so the ones which are not set can be 0 */
+    private static double joint(Message message, int joint) {
+        return message.find("j" + joint, Number.class).map(Number::doubleValue).orElse(0.);
+    }
+}